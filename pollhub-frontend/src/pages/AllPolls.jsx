@@ -102,6 +102,8 @@ export default function AllPolls() {
   const [mobileOpen, setMobileOpen] = useState(false);
   const [isLoading, setIsLoading] = useState(true);
   const [polls, setPolls] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
   const [showResultsMap, setShowResultsMap] = useState({});
   const [dialogOpen, setDialogOpen] = useState(false);
   const [detalheAberto, setDetalheAberto] = useState(null);
@@ -126,9 +128,9 @@ export default function AllPolls() {
       // Busca todas as enquetes públicas
       const response = await api.get('/api/polls');
       
-      // Organiza as enquetes por data de criação (mais recentes primeiro)
-      const sortByDate = (a, b) => new Date(b.createdAt) - new Date(a.createdAt);
-      setPolls(response.data.sort(sortByDate));
+      // A API já retorna a página ordenada da mais recente para a mais antiga
+      setPolls(response.data.items);
+      setNextCursor(response.data.nextCursor);
     } catch (error) {
       console.error('Erro ao buscar enquetes:', error);
 
@@ -251,6 +253,39 @@ export default function AllPolls() {
     }
   };
 
+  // Busca a próxima página a partir do cursor devolvido pela API
+  const handleLoadMore = async () => {
+    if (!nextCursor || isLoadingMore) {
+      return;
+    }
+    setIsLoadingMore(true);
+    try {
+      const response = await api.get('/api/polls', { params: { cursor: nextCursor } });
+
+      // Ignora enquetes já exibidas (ex.: criadas nesta sessão e adicionadas no topo)
+      setPolls(prev => {
+        const shown = new Set(prev.map(poll => poll.id));
+        return [...prev, ...response.data.items.filter(poll => !shown.has(poll.id))];
+      });
+      setNextCursor(response.data.nextCursor);
+    } catch (error) {
+      console.error('Erro ao buscar mais enquetes:', error);
+
+      if (error.response?.status === 401) {
+        logout();
+        navigate('/login');
+      }
+
+      setSnackbar({
+        open: true,
+        message: error.response?.data?.message || 'Erro ao carregar mais enquetes',
+        severity: 'error'
+      });
+    } finally {
+      setIsLoadingMore(false);
+    }
+  };
+
   const handleSnackbarClose = (event, reason) => {
     if (reason === 'clickaway') {
       return;
@@ -504,45 +539,55 @@ export default function AllPolls() {
                 <CircularProgress />
               </Box>
             ) : polls.length > 0 ? (
-              <Grid
-                container
-                spacing={3}
-                sx={{
-                  mb: 3,
-                  width: '100%',
-                  display: 'grid', 
-                  gridTemplateColumns: {
-                    xs: '1fr',
-                    sm: 'repeat(2, 1fr)',
-                    md: 'repeat(3, 1fr)'
-                  }
-                }}
-              >
-                {polls.map((poll) => (
-                  <Grid
-                    item
-                    key={poll.id}
-                    xs={12}
-                    sm={6}
-                    md={4}
-                    sx={{
-                      minWidth: 0, 
-                      display: 'flex', 
-                      height: 'auto'
-                    }}
-                  >
-                    <PollCard
-                      poll={poll}
-                      onVote={handleVote}
-                      onVerDetalhes={() => setDetalheAberto(poll)}
-                      showResults={showResultsMap[poll.id] || false}
-                      isOwner={false}
-                      onToggleResults={handleToggleResults}
-                      onDelete={handleDelete}
-                    />
-                  </Grid>
-                ))}
-              </Grid>
+              <>
+                <Grid
+                  container
+                  spacing={3}
+                  sx={{
+                    mb: 3,
+                    width: '100%',
+                    display: 'grid', 
+                    gridTemplateColumns: {
+                      xs: '1fr',
+                      sm: 'repeat(2, 1fr)',
+                      md: 'repeat(3, 1fr)'
+                    }
+                  }}
+                >
+                  {polls.map((poll) => (
+                    <Grid
+                      item
+                      key={poll.id}
+                      xs={12}
+                      sm={6}
+                      md={4}
+                      sx={{
+                        minWidth: 0, 
+                        display: 'flex', 
+                        height: 'auto'
+                      }}
+                    >
+                      <PollCard
+                        poll={poll}
+                        onVote={handleVote}
+                        onVerDetalhes={() => setDetalheAberto(poll)}
+                        showResults={showResultsMap[poll.id] || false}
+                        isOwner={false}
+                        onToggleResults={handleToggleResults}
+                        onDelete={handleDelete}
+                      />
+                    </Grid>
+                  ))}
+                </Grid>
+                {/* Próxima página, enquanto a API devolver cursor */}
+                {nextCursor && (
+                  <Box sx={{ display: 'flex', justifyContent: 'center', mb: 2 }}>
+                    <Button variant="outlined" onClick={handleLoadMore} disabled={isLoadingMore}>
+                      {isLoadingMore ? <CircularProgress size={24} /> : 'Carregar mais'}
+                    </Button>
+                  </Box>
+                )}
+              </>
             ) : (
               <Box sx={{
                 display: 'flex',
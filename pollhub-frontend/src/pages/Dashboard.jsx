@@ -103,7 +103,6 @@ export default function Dashboard() {
   const [mobileOpen, setMobileOpen] = useState(false);
   const [isLoading, setIsLoading] = useState(true);
   const [userPolls, setUserPolls] = useState([]);
-  const [allPolls, setAllPolls] = useState([]);
   const [showResultsMap, setShowResultsMap] = useState({});
   const [dialogOpen, setDialogOpen] = useState(false);
   const [detalheAberto, setDetalheAberto] = useState(null);
@@ -125,16 +124,13 @@ export default function Dashboard() {
   const fetchData = async () => {
     setIsLoading(true);
     try {
-      // Faz chamadas autenticadas conforme os endpoints do swagger
-      const [userPollsRes, allPollsRes] = await Promise.all([
-        api.get('/api/users/me/polls'),
-        api.get('/api/polls')
-      ]);
+      // O painel exibe apenas as enquetes do usuário; a listagem geral,
+      // paginada, fica em Todas Enquetes
+      const userPollsRes = await api.get('/api/users/me/polls');
 
       // Processa os dados
       const sortByDate = (a, b) => new Date(b.createdAt) - new Date(a.createdAt);
       setUserPolls(userPollsRes.data.sort(sortByDate));
-      setAllPolls(allPollsRes.data.sort(sortByDate));
 
     } catch (error) {
       console.error('Erro ao buscar dados:', error);
@@ -171,7 +167,6 @@ export default function Dashboard() {
       const response = await api.post('/api/polls', pollData);
 
       setUserPolls(prev => [response.data, ...prev]);
-      setAllPolls(prev => [response.data, ...prev]);
 
       setSnackbar({
         open: true,
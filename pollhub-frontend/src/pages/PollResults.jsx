@@ -105,6 +105,24 @@ export default function PollResults() {
         fetchPollResults();
     }, [id]);
 
+    // Atualizações em tempo real via SSE (EventSource não envia o token,
+    // então enquetes privadas ficam apenas com a carga inicial)
+    useEffect(() => {
+        const source = new EventSource(`${api.defaults.baseURL}/api/polls/${id}/results/stream`);
+        source.addEventListener('results', (event) => {
+            const data = JSON.parse(event.data);
+            if (Array.isArray(data.results)) {
+                setPoll((current) => ({ ...current, results: data.results }));
+            }
+        });
+        source.onerror = () => {
+            if (source.readyState === EventSource.CLOSED) {
+                source.close();
+            }
+        };
+        return () => source.close();
+    }, [id]);
+
     const handleBack = () => {
         navigate(-1);
     };
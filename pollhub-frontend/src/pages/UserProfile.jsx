@@ -8,6 +8,7 @@ import {
   Container,
   Grid,
   Paper,
+  Button,
   Snackbar,
   Alert,
   CircularProgress,
@@ -101,6 +102,8 @@ export default function UserProfile() {
   const [mobileOpen, setMobileOpen] = useState(false);
   const [isLoading, setIsLoading] = useState(true);
   const [userPolls, setUserPolls] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
   const [showResultsMap, setShowResultsMap] = useState({});
   const [detalheAberto, setDetalheAberto] = useState(null);
   const [snackbar, setSnackbar] = useState({
@@ -123,9 +126,9 @@ export default function UserProfile() {
     try {
       const response = await api.get(`/api/users/${username}/polls`);
       
-      // Processa os dados
-      const sortByDate = (a, b) => new Date(b.createdAt) - new Date(a.createdAt);
-      setUserPolls(response.data.sort(sortByDate));
+      // A API já retorna a página ordenada da mais recente para a mais antiga
+      setUserPolls(response.data.items);
+      setNextCursor(response.data.nextCursor);
 
     } catch (error) {
       console.error('Erro ao buscar dados:', error);
@@ -212,6 +215,39 @@ export default function UserProfile() {
     }
   };
 
+  // Busca a próxima página a partir do cursor devolvido pela API
+  const handleLoadMore = async () => {
+    if (!nextCursor || isLoadingMore) {
+      return;
+    }
+    setIsLoadingMore(true);
+    try {
+      const response = await api.get(`/api/users/${username}/polls`, { params: { cursor: nextCursor } });
+
+      // Ignora enquetes que já estão na lista
+      setUserPolls(prev => {
+        const shown = new Set(prev.map(poll => poll.id));
+        return [...prev, ...response.data.items.filter(poll => !shown.has(poll.id))];
+      });
+      setNextCursor(response.data.nextCursor);
+    } catch (error) {
+      console.error('Erro ao buscar mais enquetes:', error);
+
+      if (error.response?.status === 401) {
+        logout();
+        navigate('/login');
+      }
+
+      setSnackbar({
+        open: true,
+        message: error.response?.data?.message || 'Erro ao carregar mais enquetes',
+        severity: 'error'
+      });
+    } finally {
+      setIsLoadingMore(false);
+    }
+  };
+
   const handleSnackbarClose = (event, reason) => {
     if (reason === 'clickaway') {
       return;
@@ -470,44 +506,54 @@ export default function UserProfile() {
                 <CircularProgress />
               </Box>
             ) : userPolls.length > 0 ? (
-              <Grid
-                container
-                spacing={3}
-                sx={{
-                  mb: 3,
-                  width: '100%',
-                  display: 'grid', 
-                  gridTemplateColumns: {
-                    xs: '1fr',
-                    sm: 'repeat(2, 1fr)',
-                    md: 'repeat(3, 1fr)'
-                  }
-                }}
-              >
-                {userPolls.map((poll) => (
-                  <Grid
-                    item
-                    key={poll.id}
-                    xs={12}
-                    sm={6}
-                    md={4}
-                    sx={{
-                      minWidth: 0, 
-                      display: 'flex', 
-                      height: 'auto'
-                    }}
-                  >
-                    <PollCard
-                      poll={poll}
-                      onVote={handleVote}
-                      onVerDetalhes={() => setDetalheAberto(poll)}
-                      showResults={showResultsMap[poll.id] || false}
-                      isOwner={false}
-                      onToggleResults={handleToggleResults}
-                    />
-                  </Grid>
-                ))}
-              </Grid>
+              <>
+                <Grid
+                  container
+                  spacing={3}
+                  sx={{
+                    mb: 3,
+                    width: '100%',
+                    display: 'grid', 
+                    gridTemplateColumns: {
+                      xs: '1fr',
+                      sm: 'repeat(2, 1fr)',
+                      md: 'repeat(3, 1fr)'
+                    }
+                  }}
+                >
+                  {userPolls.map((poll) => (
+                    <Grid
+                      item
+                      key={poll.id}
+                      xs={12}
+                      sm={6}
+                      md={4}
+                      sx={{
+                        minWidth: 0, 
+                        display: 'flex', 
+                        height: 'auto'
+                      }}
+                    >
+                      <PollCard
+                        poll={poll}
+                        onVote={handleVote}
+                        onVerDetalhes={() => setDetalheAberto(poll)}
+                        showResults={showResultsMap[poll.id] || false}
+                        isOwner={false}
+                        onToggleResults={handleToggleResults}
+                      />
+                    </Grid>
+                  ))}
+                </Grid>
+                {/* Próxima página, enquanto a API devolver cursor */}
+                {nextCursor && (
+                  <Box sx={{ display: 'flex', justifyContent: 'center', mb: 2 }}>
+                    <Button variant="outlined" onClick={handleLoadMore} disabled={isLoadingMore}>
+                      {isLoadingMore ? <CircularProgress size={24} /> : 'Carregar mais'}
+                    </Button>
+                  </Box>
+                )}
+              </>
             ) : (
               <Box sx={{
                 display: 'flex',
@@ -0,0 +1,97 @@
+package com.pablorodriguesb.pollhub.benchmark;
+
+import com.pablorodriguesb.pollhub.PollHubApplication;
+import com.pablorodriguesb.pollhub.model.Option;
+import com.pablorodriguesb.pollhub.model.Poll;
+import com.pablorodriguesb.pollhub.model.User;
+import com.pablorodriguesb.pollhub.repository.PollRepository;
+import com.pablorodriguesb.pollhub.repository.UserRepository;
+import com.pablorodriguesb.pollhub.repository.VoteJdbcRepository;
+import com.pablorodriguesb.pollhub.repository.VoteRow;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// sobe a aplicacao sem servidor web no perfil de teste (H2 em memoria) e
+// popula usuarios, enquetes e votos no volume pedido por cada benchmark
+final class BenchmarkData {
+
+    private static final int INSERT_CHUNK = 1000;
+
+    private BenchmarkData() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        List<String> all = new ArrayList<>(List.of(properties));
+        all.add("logging.level.root=WARN");
+        return new SpringApplicationBuilder(PollHubApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(all.toArray(String[]::new))
+                .run();
+    }
+
+    static List<User> users(ConfigurableApplicationContext context, int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setUsername("eleitor" + i);
+            user.setEmail("eleitor" + i + "@example.com");
+            user.setPassword("encodedPassword");
+            user.setDataCadastro(LocalDateTime.now());
+            user.setRole("ROLE_USER");
+            users.add(user);
+        }
+        return context.getBean(UserRepository.class).saveAll(users);
+    }
+
+    static List<Poll> polls(ConfigurableApplicationContext context, User creator,
+                            int count, int optionsPerPoll) {
+        List<Poll> polls = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Poll poll = new Poll();
+            poll.setTitle("Enquete " + i);
+            poll.setDescription("Enquete gerada para benchmark");
+            poll.setCreatedAt(LocalDateTime.now().minusMinutes(i));
+            poll.setCreatedBy(creator);
+            poll.setIsPublic(true);
+            List<Option> options = new ArrayList<>(optionsPerPoll);
+            for (int j = 0; j < optionsPerPoll; j++) {
+                Option option = new Option();
+                option.setText("Opcao " + j);
+                option.setPoll(poll);
+                option.setVoteCount(0);
+                options.add(option);
+            }
+            poll.setOptions(options);
+            polls.add(poll);
+        }
+        return context.getBean(PollRepository.class).saveAll(polls);
+    }
+
+    // cada votante vota uma vez em cada enquete, distribuido entre as opcoes
+    static void votes(ConfigurableApplicationContext context, List<Poll> polls, List<User> voters) {
+        VoteJdbcRepository voteJdbcRepository = context.getBean(VoteJdbcRepository.class);
+        LocalDateTime now = LocalDateTime.now();
+        List<VoteRow> rows = new ArrayList<>(INSERT_CHUNK);
+        for (Poll poll : polls) {
+            List<Option> options = poll.getOptions();
+            for (int i = 0; i < voters.size(); i++) {
+                Option option = options.get(i % options.size());
+                rows.add(new VoteRow(poll.getId(), option.getId(), voters.get(i).getId(), now));
+                if (rows.size() == INSERT_CHUNK) {
+                    voteJdbcRepository.insertAll(rows);
+                    rows.clear();
+                }
+            }
+        }
+        voteJdbcRepository.insertAll(rows);
+        context.getBean(JdbcTemplate.class).update("UPDATE options SET vote_count = "
+                + "(SELECT COUNT(*) FROM votes v WHERE v.option_id = options.id)");
+    }
+}
@@ -0,0 +1,85 @@
+package com.pablorodriguesb.pollhub.benchmark;
+
+import com.pablorodriguesb.pollhub.exception.BadRequestException;
+import com.pablorodriguesb.pollhub.model.Poll;
+import com.pablorodriguesb.pollhub.model.User;
+import com.pablorodriguesb.pollhub.service.VoteService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// tempo de cada thread para registrar 250 votos unitarios sob carga concorrente.
+// cada usuario vota duas vezes seguidas, entao metade das chamadas disputa a
+// unique (user_id, poll_id) com outra thread.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = 250)
+@Measurement(iterations = 10, batchSize = 250)
+@Threads(8)
+@Fork(1)
+public class ConcurrentVoteBenchmark {
+
+    private static final int VOTERS = 2000;
+
+    private ConfigurableApplicationContext context;
+    private VoteService voteService;
+    private JdbcTemplate jdbcTemplate;
+
+    private Poll poll;
+    private List<User> voters;
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        // o log de cada violacao de unique dominaria a medicao
+        context = BenchmarkData.start(
+                "logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper=OFF");
+        voteService = context.getBean(VoteService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        voters = BenchmarkData.users(context, VOTERS);
+        poll = BenchmarkData.polls(context, voters.get(0), 1, 4).get(0);
+    }
+
+    // cada iteracao comeca sem votos; 8 threads x 250 chamadas = 1000 usuarios
+    @Setup(Level.Iteration)
+    public void clearVotes() {
+        jdbcTemplate.update("DELETE FROM votes");
+        next.set(0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean vote() {
+        int n = next.getAndIncrement();
+        User voter = voters.get((n / 2) % VOTERS);
+        Long optionId = poll.getOptions().get(n % poll.getOptions().size()).getId();
+        try {
+            voteService.vote(poll.getId(), optionId, voter);
+            return true;
+        } catch (BadRequestException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.pablorodriguesb.pollhub.benchmark;
+
+import com.pablorodriguesb.pollhub.security.JwtTokenUtil;
+import com.pablorodriguesb.pollhub.security.VerifiedToken;
+import com.pablorodriguesb.pollhub.security.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// verificacoes de JWT por segundo: o fluxo antigo (chave e parser recriados,
+// token verificado tres vezes) contra o atual (parser unico, uma verificacao)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET =
+            "benchmark-secret-key-for-pollhub-with-at-least-512-bits-for-hs512-0123456789abcdef";
+
+    private JwtTokenUtil jwtTokenUtil;
+    private VerifiedTokenCache verifiedTokenCache;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenUtil = new JwtTokenUtil(SECRET, false, 900);
+        verifiedTokenCache = new VerifiedTokenCache(new SimpleMeterRegistry(), 10_000);
+        userDetails = User.withUsername("benchmark")
+                .password("encodedPassword")
+                .roles("USER")
+                .build();
+        token = jwtTokenUtil.generateToken(userDetails, "ROLE_USER");
+    }
+
+    // antes: filtro extrai o username e validateToken verifica mais duas vezes
+    @Benchmark
+    public boolean legacyFilterFlow() {
+        String username = legacyParse(token).getSubject();
+        boolean sameUser = legacyParse(token).getSubject().equals(userDetails.getUsername());
+        Date expiration = legacyParse(token).getExpiration();
+        return username != null && sameUser && !expiration.before(new Date());
+    }
+
+    // depois: uma verificacao por requisicao com o parser compartilhado
+    @Benchmark
+    public VerifiedToken currentFilterFlow() {
+        return jwtTokenUtil.verify(token);
+    }
+
+    // token repetido: hash SHA-256 e busca no cache de tokens verificados
+    @Benchmark
+    public VerifiedToken cachedFilterFlow() {
+        return verifiedTokenCache.get(token, jwtTokenUtil::verify);
+    }
+
+    // emissao do token no login
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenUtil.generateToken(userDetails, "ROLE_USER");
+    }
+
+    @Benchmark
+    public boolean currentValidateToken() {
+        return jwtTokenUtil.validateToken(token, userDetails);
+    }
+
+    private Claims legacyParse(String jwt) {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(jwt)
+                .getBody();
+    }
+}
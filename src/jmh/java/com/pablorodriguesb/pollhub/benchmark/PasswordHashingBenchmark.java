@@ -0,0 +1,55 @@
+package com.pablorodriguesb.pollhub.benchmark;
+
+import com.pablorodriguesb.pollhub.security.PasswordEncoders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+// hashes por segundo de cada configuracao de senha suportada, por thread.
+// "matches" e o custo de um login; "encode" o de um cadastro ou rehash.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    // algoritmo:custo (custo = strength do bcrypt ou iteracoes do pbkdf2)
+    @Param({"bcrypt:10", "bcrypt:12", "argon2:default", "pbkdf2:310000"})
+    public String setting;
+
+    private PasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        String[] parts = setting.split(":");
+        String algorithm = parts[0];
+        int bcryptStrength = algorithm.equals(PasswordEncoders.BCRYPT) ? Integer.parseInt(parts[1]) : 10;
+        int pbkdf2Iterations = algorithm.equals(PasswordEncoders.PBKDF2) ? Integer.parseInt(parts[1]) : 310000;
+        encoder = PasswordEncoders.delegating(algorithm, bcryptStrength, pbkdf2Iterations);
+        hash = encoder.encode("benchmark-password");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("benchmark-password", hash);
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("benchmark-password");
+    }
+}
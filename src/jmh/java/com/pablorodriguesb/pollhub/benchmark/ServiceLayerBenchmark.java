@@ -0,0 +1,132 @@
+package com.pablorodriguesb.pollhub.benchmark;
+
+import com.pablorodriguesb.pollhub.dto.PollResponseDTO;
+import com.pablorodriguesb.pollhub.dto.PollResultDTO;
+import com.pablorodriguesb.pollhub.dto.VoteResponseDTO;
+import com.pablorodriguesb.pollhub.model.Poll;
+import com.pablorodriguesb.pollhub.model.User;
+import com.pablorodriguesb.pollhub.model.Vote;
+import com.pablorodriguesb.pollhub.repository.PollRepository;
+import com.pablorodriguesb.pollhub.service.CustomUserDetailsService;
+import com.pablorodriguesb.pollhub.service.PollService;
+import com.pablorodriguesb.pollhub.service.VoteService;
+import com.pablorodriguesb.pollhub.service.VoteTallyService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// linha de base dos caminhos quentes da camada de servico sobre o H2 populado.
+// o volume e ajustavel na linha de comando, ex.: -Djmh.args="-p votesPerPoll=5000"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ServiceLayerBenchmark {
+
+    @Param({"50"})
+    public int polls;
+
+    @Param({"4"})
+    public int optionsPerPoll;
+
+    // cada enquete recebe um voto de cada um destes usuarios
+    @Param({"200"})
+    public int votesPerPoll;
+
+    private ConfigurableApplicationContext context;
+    private PollService pollService;
+    private VoteService voteService;
+    private VoteTallyService voteTallyService;
+    private CustomUserDetailsService userDetailsService;
+
+    private Long pollId;
+    private Poll poll;
+    private List<Vote> votes;
+    private List<User> users;
+    private int nextUser;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkData.start();
+        pollService = context.getBean(PollService.class);
+        voteService = context.getBean(VoteService.class);
+        voteTallyService = context.getBean(VoteTallyService.class);
+        userDetailsService = context.getBean(CustomUserDetailsService.class);
+
+        users = BenchmarkData.users(context, votesPerPoll);
+        List<Poll> seeded = BenchmarkData.polls(context, users.get(0), polls, optionsPerPoll);
+        BenchmarkData.votes(context, seeded, users);
+        pollId = seeded.get(seeded.size() / 2).getId();
+
+        // entidades ja inicializadas, para medir apenas a conversao
+        poll = context.getBean(PollRepository.class)
+                .findWithDetailsByIdIn(List.of(pollId)).get(0);
+        EntityManager entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+        try {
+            votes = entityManager.createQuery("SELECT v FROM Vote v JOIN FETCH v.poll "
+                            + "JOIN FETCH v.option JOIN FETCH v.user WHERE v.poll.id = :pollId", Vote.class)
+                    .setParameter("pollId", pollId)
+                    .getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PollResponseDTO convertToPollDTO() {
+        return pollService.convertToPollDTO(poll);
+    }
+
+    // resultados servidos pela contagem em memoria
+    @Benchmark
+    public PollResultDTO getResults() {
+        return pollService.getResults(pollId);
+    }
+
+    // primeiro acesso: carrega a enquete do banco para a contagem
+    @Benchmark
+    public PollResultDTO getResultsCold() {
+        voteTallyService.evict(pollId);
+        return pollService.getResults(pollId);
+    }
+
+    @Benchmark
+    public List<VoteResponseDTO> convertVotesToDTOs() {
+        return voteService.convertVotesToDTOs(votes);
+    }
+
+    // consulta e conversao, como no endpoint de votos da enquete
+    @Benchmark
+    public List<VoteResponseDTO> getVotesByPoll() {
+        return voteService.getVotesByPoll(pollId);
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        User user = users.get(nextUser++ % users.size());
+        return userDetailsService.loadUserByUsername(user.getUsername());
+    }
+}
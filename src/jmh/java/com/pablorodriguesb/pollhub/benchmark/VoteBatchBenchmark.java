@@ -0,0 +1,94 @@
+package com.pablorodriguesb.pollhub.benchmark;
+
+import com.pablorodriguesb.pollhub.dto.VoteBatchEntryDTO;
+import com.pablorodriguesb.pollhub.dto.VoteBatchResponseDTO;
+import com.pablorodriguesb.pollhub.model.Poll;
+import com.pablorodriguesb.pollhub.model.User;
+import com.pablorodriguesb.pollhub.service.VoteBatchService;
+import com.pablorodriguesb.pollhub.service.VoteService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// tempo para gravar N votos pelo caminho de voto unico (uma transacao por voto)
+// e por um unico lote, com o contexto da aplicacao no H2 do perfil de teste.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class VoteBatchBenchmark {
+
+    @Param({"100", "1000"})
+    public int votes;
+
+    private ConfigurableApplicationContext context;
+    private VoteService voteService;
+    private VoteBatchService voteBatchService;
+    private JdbcTemplate jdbcTemplate;
+
+    private Poll poll;
+    private List<User> voters;
+    private List<VoteBatchEntryDTO> entries;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkData.start("pollhub.votes.batch.max-entries=" + votes);
+        voteService = context.getBean(VoteService.class);
+        voteBatchService = context.getBean(VoteBatchService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        voters = BenchmarkData.users(context, votes);
+        poll = BenchmarkData.polls(context, voters.get(0), 1, 4).get(0);
+
+        entries = new ArrayList<>(votes);
+        for (int i = 0; i < votes; i++) {
+            entries.add(new VoteBatchEntryDTO(poll.getId(), optionId(i), voters.get(i).getId(), null));
+        }
+    }
+
+    // cada medicao parte de uma enquete sem votos
+    @Setup(Level.Invocation)
+    public void clearVotes() {
+        jdbcTemplate.update("DELETE FROM votes");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int singleVotes() {
+        for (int i = 0; i < votes; i++) {
+            voteService.vote(poll.getId(), optionId(i), voters.get(i));
+        }
+        return votes;
+    }
+
+    @Benchmark
+    public VoteBatchResponseDTO batch() {
+        return voteBatchService.submit(entries);
+    }
+
+    private Long optionId(int i) {
+        return poll.getOptions().get(i % poll.getOptions().size()).getId();
+    }
+}
@@ -0,0 +1,35 @@
+package com.pablorodriguesb.pollhub.loadtest;
+
+// endpoints exercitados pelo teste de carga e o nome usado no relatorio
+enum Endpoint {
+    LOGIN("login", "POST /api/auth/login"),
+    LIST("list", "GET /api/polls"),
+    RESULTS("results", "GET /api/polls/{id}/results"),
+    VOTE("vote", "POST /api/polls/{id}/vote"),
+    MY_VOTES("my-votes", "GET /api/users/me/votes");
+
+    private final String key;
+    private final String route;
+
+    Endpoint(String key, String route) {
+        this.key = key;
+        this.route = route;
+    }
+
+    String key() {
+        return key;
+    }
+
+    String route() {
+        return route;
+    }
+
+    static Endpoint fromKey(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equals(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Endpoint desconhecido no mix: " + key);
+    }
+}
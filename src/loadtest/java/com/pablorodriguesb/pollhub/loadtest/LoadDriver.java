@@ -0,0 +1,252 @@
+package com.pablorodriguesb.pollhub.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pablorodriguesb.pollhub.model.Poll;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// gera o trafego: cada worker (virtual thread) comeca com o token de um usuario da
+// massa e repete requisicoes sorteadas pelo mix ate o fim da fase, medindo cada uma.
+// os tokens sao emitidos antes da medicao para que milhares de workers nao
+// comecem todos pelo login (bcrypt), que so entra no teste pelo peso do mix.
+// o voto vai sempre para uma enquete em que o usuario do worker ainda nao votou,
+// para medir a gravacao e nao a recusa do voto repetido
+final class LoadDriver {
+
+    // tentativas de achar uma enquete sem voto antes de trocar de usuario
+    private static final int VOTE_POLL_ATTEMPTS = 32;
+    private static final int VOTE_USER_ATTEMPTS = 8;
+
+    private final ObjectMapper objectMapper;
+    private final HttpClient client;
+    private final String baseUrl;
+    private final LoadTestConfig config;
+    private final LoadTestData data;
+    private final List<String> tokens;
+    private final Endpoint[] mixTable;
+
+    LoadDriver(ObjectMapper objectMapper, String baseUrl, LoadTestConfig config, LoadTestData data,
+               List<String> tokens) {
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.config = config;
+        this.data = data;
+        this.tokens = tokens;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        // tabela com uma entrada por unidade de peso, para sortear em O(1)
+        List<Endpoint> table = new ArrayList<>();
+        config.mix().forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                table.add(endpoint);
+            }
+        });
+        if (table.isEmpty()) {
+            throw new IllegalArgumentException("O mix precisa de ao menos um endpoint com peso");
+        }
+        this.mixTable = table.toArray(Endpoint[]::new);
+    }
+
+    // roda uma fase com a duracao e as conexoes informadas e devolve as medicoes por endpoint
+    Map<Endpoint, EndpointStats> run(int seconds, int concurrency, long phaseSeed) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Future<Map<Endpoint, EndpointStats>>> futures = new ArrayList<>();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                SplittableRandom random = new SplittableRandom(phaseSeed + i);
+                int userIndex = i % tokens.size();
+                futures.add(workers.submit(() -> new Worker(random, userIndex).run(deadline)));
+            }
+        }
+
+        Map<Endpoint, EndpointStats> merged = new EnumMap<>(Endpoint.class);
+        for (Future<Map<Endpoint, EndpointStats>> future : futures) {
+            future.get().forEach((endpoint, stats) ->
+                    merged.computeIfAbsent(endpoint, e -> new EndpointStats()).merge(stats));
+        }
+        return merged;
+    }
+
+    private final class Worker {
+
+        private final SplittableRandom random;
+        private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        // usuario dono do token atual (indice em data.users() e em tokens)
+        private int userIndex;
+        private String token;
+        private int loginIndex;
+
+        Worker(SplittableRandom random, int userIndex) {
+            this.random = random;
+            this.userIndex = userIndex;
+            this.token = tokens.get(userIndex);
+        }
+
+        Map<Endpoint, EndpointStats> run(long deadline) {
+            while (System.nanoTime() < deadline) {
+                Endpoint endpoint = mixTable[random.nextInt(mixTable.length)];
+                HttpRequest request = request(endpoint);
+                long start = System.nanoTime();
+                try {
+                    HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    record(endpoint, System.nanoTime() - start, response.statusCode());
+                    if (endpoint == Endpoint.LOGIN && response.statusCode() == 200) {
+                        JsonNode body = objectMapper.readTree(response.body());
+                        token = body.path("token").asText(token);
+                        userIndex = loginIndex;
+                    }
+                } catch (IOException e) {
+                    record(endpoint, System.nanoTime() - start, -1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            return stats;
+        }
+
+        private void record(Endpoint endpoint, long nanos, int status) {
+            stats.computeIfAbsent(endpoint, e -> new EndpointStats()).record(nanos, status);
+        }
+
+        private HttpRequest request(Endpoint endpoint) {
+            Poll poll = data.polls().get(random.nextInt(data.polls().size()));
+            return switch (endpoint) {
+                case LOGIN -> {
+                    loginIndex = random.nextInt(data.users().size());
+                    String username = LoadTestData.username(loginIndex);
+                    yield HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + username
+                                    + "\",\"password\":\"" + LoadTestData.PASSWORD + "\"}"))
+                            .build();
+                }
+                case LIST -> authorized(baseUrl + "/api/polls?limit=20").GET().build();
+                case RESULTS -> authorized(baseUrl + "/api/polls/" + poll.getId() + "/results").GET().build();
+                case VOTE -> {
+                    Poll target = unvotedPoll();
+                    Long optionId = target.getOptions().get(random.nextInt(target.getOptions().size())).getId();
+                    yield authorized(baseUrl + "/api/polls/" + target.getId() + "/vote?optionId=" + optionId)
+                            .POST(HttpRequest.BodyPublishers.noBody())
+                            .build();
+                }
+                case MY_VOTES -> authorized(baseUrl + "/api/users/me/votes").GET().build();
+            };
+        }
+
+        // enquete ainda sem voto do usuario atual; se ele ja votou em quase tudo,
+        // o worker passa para outro usuario da massa com o token ja emitido
+        private Poll unvotedPoll() {
+            int pollCount = data.polls().size();
+            for (int user = 0; user < VOTE_USER_ATTEMPTS; user++) {
+                for (int attempt = 0; attempt < VOTE_POLL_ATTEMPTS; attempt++) {
+                    int pollIndex = random.nextInt(pollCount);
+                    if (data.claimVote(userIndex, pollIndex)) {
+                        return data.polls().get(pollIndex);
+                    }
+                }
+                userIndex = random.nextInt(tokens.size());
+                token = tokens.get(userIndex);
+            }
+            // massa saturada: o voto sera recusado e aparece na taxa de 4xx
+            return data.polls().get(random.nextInt(pollCount));
+        }
+
+        private HttpRequest.Builder authorized(String url) {
+            return HttpRequest.newBuilder(URI.create(url))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Authorization", "Bearer " + token);
+        }
+    }
+
+    // latencias e status de um endpoint; cada worker tem a sua e elas sao unidas no fim
+    static final class EndpointStats {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private final Map<Integer, Long> statusCounts = new TreeMap<>();
+
+        void record(long nanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            statusCounts.merge(status, 1L, Long::sum);
+        }
+
+        void merge(EndpointStats other) {
+            for (int i = 0; i < other.count; i++) {
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, Math.max(count * 2, count + other.count));
+                }
+                latencies[count++] = other.latencies[i];
+            }
+            other.statusCounts.forEach((status, n) -> statusCounts.merge(status, n, Long::sum));
+        }
+
+        int count() {
+            return count;
+        }
+
+        Map<Integer, Long> statusCounts() {
+            return statusCounts;
+        }
+
+        // falha de rede (-1) ou erro do servidor (5xx)
+        long errors() {
+            return statusCounts.entrySet().stream()
+                    .filter(e -> e.getKey() < 0 || e.getKey() >= 500)
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+        }
+
+        // respostas 4xx (voto repetido, token recusado); ficam fora de errors()
+        // mas uma taxa alta indica que o mix nao mede o caminho esperado
+        long clientErrors() {
+            return statusCounts.entrySet().stream()
+                    .filter(e -> e.getKey() >= 400 && e.getKey() < 500)
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+        }
+
+        double clientErrorRate() {
+            return count == 0 ? 0 : (double) clientErrors() / count;
+        }
+
+        // percentis pelo metodo nearest-rank, em milissegundos
+        double[] percentilesMs(double... percentiles) {
+            double[] result = new double[percentiles.length];
+            if (count == 0) {
+                return result;
+            }
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            for (int i = 0; i < percentiles.length; i++) {
+                int rank = (int) Math.ceil(percentiles[i] / 100.0 * count);
+                result[i] = sorted[Math.max(0, rank - 1)] / 1_000_000.0;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.pablorodriguesb.pollhub.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.pablorodriguesb.pollhub.PollHubApplication;
+import com.pablorodriguesb.pollhub.loadtest.LoadDriver.EndpointStats;
+import com.pablorodriguesb.pollhub.model.User;
+import com.pablorodriguesb.pollhub.security.JwtTokenUtil;
+import com.pablorodriguesb.pollhub.service.CustomUserDetailsService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// teste de carga HTTP de ponta a ponta: sobe a aplicacao em porta aleatoria
+// (H2 do perfil test por padrao, ou o banco passado em --spring.datasource.*),
+// gera a massa deterministica, aquece, mede e grava o relatorio em JSON.
+//
+//   ./mvnw -Ploadtest test-compile exec:exec -Dloadtest.args="--loadtest.users=1000"
+//
+// com --loadtest.concurrency=1000,5000,10000 cada nivel e aquecido e medido em
+// sequencia; --spring.threads.virtual.enabled=true compara com as virtual threads
+public final class LoadTest {
+
+    private static final double[] PERCENTILES = {50, 90, 99};
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        // o perfil de teste falha requisicoes acima do orcamento de SQL; aqui so avisa.
+        // propriedade de sistema porque o arquivo do perfil tem precedencia sobre os padroes
+        if (System.getProperty("pollhub.sql.budget.fail") == null) {
+            System.setProperty("pollhub.sql.budget.fail", "false");
+        }
+        // o devtools esta no classpath de teste; o reinicio automatico manteria a JVM viva
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(PollHubApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.root=WARN",
+                        // votos repetidos sao esperados no mix; o log de cada um distorceria a medicao
+                        "logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper=OFF",
+                        "logging.level.org.springframework.web.servlet.mvc.method.annotation"
+                                + ".ExceptionHandlerExceptionResolver=ERROR")
+                .run(args);
+        try {
+            Environment env = context.getEnvironment();
+            LoadTestConfig config = LoadTestConfig.from(env);
+            ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            log("Gerando massa: %d usuarios, %d enquetes, %d votos (semente %d)",
+                    config.users(), config.polls(), config.votes(), config.seed());
+            LoadTestData data = LoadTestData.seed(context, config);
+
+            List<String> tokens = issueTokens(context, data);
+
+            LoadDriver driver = new LoadDriver(objectMapper, "http://localhost:" + port, config, data, tokens);
+            Instant startedAt = Instant.now();
+            Map<Integer, Map<Endpoint, EndpointStats>> runs = new LinkedHashMap<>();
+            for (int concurrency : config.concurrency()) {
+                if (config.warmupSeconds() > 0) {
+                    log("Aquecimento: %ds com %d conexoes", config.warmupSeconds(), concurrency);
+                    driver.run(config.warmupSeconds(), concurrency, config.seed() * 31);
+                }
+                log("Medicao: %ds com %d conexoes", config.durationSeconds(), concurrency);
+                Map<Endpoint, EndpointStats> stats = driver.run(config.durationSeconds(), concurrency, config.seed());
+                runs.put(concurrency, stats);
+                print(config, concurrency, stats);
+            }
+
+            ObjectNode report = report(objectMapper, env, config, startedAt, runs);
+            File output = new File(config.output());
+            if (output.getParentFile() != null) {
+                output.getParentFile().mkdirs();
+            }
+            objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(output, report);
+            log("Relatorio gravado em %s", output.getAbsolutePath());
+        } finally {
+            context.close();
+        }
+    }
+
+    // um token por usuario da massa, emitido direto pelo JwtTokenUtil (sem bcrypt)
+    private static List<String> issueTokens(ConfigurableApplicationContext context, LoadTestData data) {
+        JwtTokenUtil jwtTokenUtil = context.getBean(JwtTokenUtil.class);
+        CustomUserDetailsService userDetailsService = context.getBean(CustomUserDetailsService.class);
+        List<String> tokens = new ArrayList<>(data.users().size());
+        for (User user : data.users()) {
+            tokens.add(jwtTokenUtil.generateToken(
+                    userDetailsService.loadUserByUsername(user.getUsername()), user.getRole()));
+        }
+        return tokens;
+    }
+
+    private static ObjectNode report(ObjectMapper objectMapper, Environment env, LoadTestConfig config,
+                                     Instant startedAt, Map<Integer, Map<Endpoint, EndpointStats>> runs) {
+        ObjectNode report = objectMapper.createObjectNode();
+        report.put("startedAt", startedAt.toString());
+        // rotulo livre para comparar execucoes entre versoes (ex.: tag do release)
+        report.put("label", env.getProperty("loadtest.label", "dev"));
+        report.put("database", env.getProperty("spring.datasource.url"));
+        report.put("virtualThreads", env.getProperty("spring.threads.virtual.enabled", Boolean.class, false));
+
+        ObjectNode settings = report.putObject("config");
+        settings.put("seed", config.seed());
+        settings.put("users", config.users());
+        settings.put("polls", config.polls());
+        settings.put("votes", config.votes());
+        ArrayNode levels = settings.putArray("concurrency");
+        config.concurrency().forEach(levels::add);
+        settings.put("warmupSeconds", config.warmupSeconds());
+        settings.put("durationSeconds", config.durationSeconds());
+        ObjectNode mix = settings.putObject("mix");
+        config.mix().forEach((endpoint, weight) -> mix.put(endpoint.key(), weight));
+
+        ArrayNode runsNode = report.putArray("runs");
+        runs.forEach((concurrency, stats) -> {
+            ObjectNode run = runsNode.addObject();
+            run.put("concurrency", concurrency);
+            endpoints(run.putArray("endpoints"), config, stats);
+        });
+        return report;
+    }
+
+    private static void endpoints(ArrayNode endpoints, LoadTestConfig config, Map<Endpoint, EndpointStats> stats) {
+        stats.forEach((endpoint, endpointStats) -> {
+            double[] percentiles = endpointStats.percentilesMs(PERCENTILES);
+            ObjectNode node = endpoints.addObject();
+            node.put("endpoint", endpoint.route());
+            node.put("requests", endpointStats.count());
+            node.put("throughputPerSecond", (double) endpointStats.count() / config.durationSeconds());
+            node.put("errors", endpointStats.errors());
+            node.put("clientErrors", endpointStats.clientErrors());
+            node.put("clientErrorRate", endpointStats.clientErrorRate());
+            ObjectNode latency = node.putObject("latencyMs");
+            latency.put("p50", percentiles[0]);
+            latency.put("p90", percentiles[1]);
+            latency.put("p99", percentiles[2]);
+            ObjectNode statuses = node.putObject("statusCounts");
+            endpointStats.statusCounts().forEach((status, count) ->
+                    statuses.put(String.valueOf(status), count));
+        });
+    }
+
+    private static void print(LoadTestConfig config, int concurrency, Map<Endpoint, EndpointStats> stats) {
+        System.out.printf("%n%d conexoes%n%-30s %10s %10s %10s %10s %8s %8s%n",
+                concurrency, "Endpoint", "req/s", "p50 ms", "p99 ms", "requests", "errors", "4xx %");
+        stats.forEach((endpoint, endpointStats) -> {
+            double[] percentiles = endpointStats.percentilesMs(PERCENTILES);
+            System.out.printf("%-30s %10.1f %10.2f %10.2f %10d %8d %8.2f%n",
+                    endpoint.route(),
+                    (double) endpointStats.count() / config.durationSeconds(),
+                    percentiles[0], percentiles[2],
+                    endpointStats.count(), endpointStats.errors(),
+                    endpointStats.clientErrorRate() * 100);
+        });
+        System.out.println();
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.printf("[loadtest] " + format + "%n", args);
+    }
+}
@@ -0,0 +1,57 @@
+package com.pablorodriguesb.pollhub.loadtest;
+
+import org.springframework.core.env.Environment;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// parametros do teste de carga, lidos das propriedades loadtest.* (argumentos
+// --loadtest.users=500 etc., repassados ao Spring junto com os da aplicacao)
+record LoadTestConfig(long seed,
+                      int users,
+                      int polls,
+                      int maxOptions,
+                      long votes,
+                      List<Integer> concurrency,
+                      int warmupSeconds,
+                      int durationSeconds,
+                      Map<Endpoint, Integer> mix,
+                      String output) {
+
+    static LoadTestConfig from(Environment env) {
+        return new LoadTestConfig(
+                env.getProperty("loadtest.seed", Long.class, 42L),
+                env.getProperty("loadtest.users", Integer.class, 500),
+                env.getProperty("loadtest.polls", Integer.class, 200),
+                Math.max(2, env.getProperty("loadtest.max-options", Integer.class, 5)),
+                env.getProperty("loadtest.votes", Long.class, 20_000L),
+                parseLevels(env.getProperty("loadtest.concurrency", "32")),
+                env.getProperty("loadtest.warmup-seconds", Integer.class, 5),
+                env.getProperty("loadtest.duration-seconds", Integer.class, 30),
+                parseMix(env.getProperty("loadtest.mix", "login:5,list:35,results:30,vote:20,my-votes:10")),
+                env.getProperty("loadtest.output", "target/loadtest-result.json"));
+    }
+
+    // um ou mais niveis de conexoes simultaneas, medidos em sequencia (ex.: 1000,5000,10000)
+    private static List<Integer> parseLevels(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .map(Integer::valueOf)
+                .toList();
+    }
+
+    // formato: nome:peso separados por virgula
+    private static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] entry = part.trim().split(":");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("Mix inválido: " + part);
+            }
+            mix.put(Endpoint.fromKey(entry[0].trim()), Integer.parseInt(entry[1].trim()));
+        }
+        return mix;
+    }
+}
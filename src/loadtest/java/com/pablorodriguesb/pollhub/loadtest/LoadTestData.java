@@ -0,0 +1,130 @@
+package com.pablorodriguesb.pollhub.loadtest;
+
+import com.pablorodriguesb.pollhub.model.Option;
+import com.pablorodriguesb.pollhub.model.Poll;
+import com.pablorodriguesb.pollhub.model.User;
+import com.pablorodriguesb.pollhub.repository.PollRepository;
+import com.pablorodriguesb.pollhub.repository.UserRepository;
+import com.pablorodriguesb.pollhub.repository.VoteJdbcRepository;
+import com.pablorodriguesb.pollhub.repository.VoteRow;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+// gerador deterministico da massa do teste de carga: a mesma semente gera os
+// mesmos usuarios, enquetes e votos, entao execucoes diferentes sao comparaveis
+final class LoadTestData {
+
+    static final String PASSWORD = "loadtest-password";
+
+    private static final int INSERT_CHUNK = 1000;
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private final List<User> users;
+    private final List<Poll> polls;
+    // pares (usuario, enquete) com voto, da massa e dos votos enviados pelo teste
+    private final Set<Long> votedPairs;
+
+    private LoadTestData(List<User> users, List<Poll> polls, Set<Long> votedPairs) {
+        this.users = users;
+        this.polls = polls;
+        this.votedPairs = votedPairs;
+    }
+
+    static LoadTestData seed(ApplicationContext context, LoadTestConfig config) {
+        SplittableRandom random = new SplittableRandom(config.seed());
+
+        // mesma senha para todos: um unico hash na carga, o custo real fica no login
+        String encoded = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        List<User> users = new ArrayList<>(config.users());
+        for (int i = 0; i < config.users(); i++) {
+            User user = new User();
+            user.setUsername(username(i));
+            user.setEmail(username(i) + "@loadtest.local");
+            user.setPassword(encoded);
+            user.setDataCadastro(BASE_TIME.plusMinutes(i));
+            user.setRole("ROLE_USER");
+            users.add(user);
+        }
+        users = context.getBean(UserRepository.class).saveAll(users);
+
+        List<Poll> polls = new ArrayList<>(config.polls());
+        for (int i = 0; i < config.polls(); i++) {
+            Poll poll = new Poll();
+            poll.setTitle("Enquete de carga " + i);
+            poll.setDescription("Gerada pelo teste de carga");
+            poll.setCreatedAt(BASE_TIME.plusMinutes(i));
+            poll.setCreatedBy(users.get(random.nextInt(users.size())));
+            poll.setIsPublic(true);
+            int optionCount = 2 + random.nextInt(config.maxOptions() - 1);
+            List<Option> options = new ArrayList<>(optionCount);
+            for (int j = 0; j < optionCount; j++) {
+                Option option = new Option();
+                option.setText("Opcao " + j);
+                option.setPoll(poll);
+                option.setVoteCount(0);
+                options.add(option);
+            }
+            poll.setOptions(options);
+            polls.add(poll);
+        }
+        polls = context.getBean(PollRepository.class).saveAll(polls);
+
+        Set<Long> votedPairs = ConcurrentHashMap.newKeySet();
+        seedVotes(context, config, random, users, polls, votedPairs);
+        return new LoadTestData(users, polls, votedPairs);
+    }
+
+    // votos em pares (usuario, enquete) distintos, sorteados pela mesma semente
+    private static void seedVotes(ApplicationContext context, LoadTestConfig config,
+                                  SplittableRandom random, List<User> users, List<Poll> polls,
+                                  Set<Long> taken) {
+        long capacity = (long) users.size() * polls.size();
+        long target = Math.min(config.votes(), capacity);
+        VoteJdbcRepository voteJdbcRepository = context.getBean(VoteJdbcRepository.class);
+
+        List<VoteRow> rows = new ArrayList<>(INSERT_CHUNK);
+        while (taken.size() < target) {
+            int userIndex = random.nextInt(users.size());
+            int pollIndex = random.nextInt(polls.size());
+            if (!taken.add((long) userIndex * polls.size() + pollIndex)) {
+                continue;
+            }
+            Poll poll = polls.get(pollIndex);
+            Option option = poll.getOptions().get(random.nextInt(poll.getOptions().size()));
+            rows.add(new VoteRow(poll.getId(), option.getId(), users.get(userIndex).getId(),
+                    BASE_TIME.plusSeconds(taken.size())));
+            if (rows.size() == INSERT_CHUNK) {
+                voteJdbcRepository.insertAll(rows);
+                rows.clear();
+            }
+        }
+        voteJdbcRepository.insertAll(rows);
+        context.getBean(JdbcTemplate.class).update("UPDATE options SET vote_count = "
+                + "(SELECT COUNT(*) FROM votes v WHERE v.option_id = options.id)");
+    }
+
+    // reserva o par para um voto; false se o usuario ja votou (ou vai votar) na enquete
+    boolean claimVote(int userIndex, int pollIndex) {
+        return votedPairs.add((long) userIndex * polls.size() + pollIndex);
+    }
+
+    static String username(int index) {
+        return "carga" + index;
+    }
+
+    List<User> users() {
+        return users;
+    }
+
+    List<Poll> polls() {
+        return polls;
+    }
+}
@@ -0,0 +1,33 @@
+package com.pablorodriguesb.pollhub.config;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+
+// o endpoint /ws e anonimo e o broker simples repassa a todos os assinantes o
+// que chegar em /topic. o cliente so pode enviar SEND para os destinos da
+// aplicacao (/app); o resto e recusado com um frame ERROR
+class ClientSendInterceptor implements ChannelInterceptor {
+
+    private final String applicationPrefix;
+
+    ClientSendInterceptor(String applicationPrefix) {
+        this.applicationPrefix = applicationPrefix;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        if (StompCommand.SEND.equals(accessor.getCommand())) {
+            String destination = accessor.getDestination();
+            if (destination == null || !destination.startsWith(applicationPrefix)) {
+                throw new MessageDeliveryException(message,
+                        "Envio não permitido para " + destination);
+            }
+        }
+        return message;
+    }
+}
@@ -0,0 +1,29 @@
+package com.pablorodriguesb.pollhub.config;
+
+import com.pablorodriguesb.pollhub.monitoring.SqlStatementListener;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+// metricas expostas em /actuator/prometheus. os padroes ficam em
+// metrics.properties e podem ser sobrescritos pelas variaveis de ambiente
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfig {
+
+    // habilita @Timed nos services (votos, resultados, autenticacao)
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    // conta statements e tempo de JDBC por requisicao (ver SqlBudgetFilter)
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementListenerCustomizer() {
+        return properties -> properties.put("hibernate.session.events.auto",
+                SqlStatementListener.class.getName());
+    }
+}
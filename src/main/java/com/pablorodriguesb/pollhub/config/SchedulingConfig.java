@@ -0,0 +1,24 @@
+package com.pablorodriguesb.pollhub.config;
+
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+// agendador dos @Scheduled. o broker STOMP registra o proprio TaskScheduler e,
+// com ele, o do Spring Boot nao e criado: os jobs cairiam no agendador do
+// broker, com uma thread por CPU. com varios TaskScheduler, o @Scheduled usa o
+// bean chamado taskScheduler. o tamanho vem de spring.task.scheduling.pool.size
+// (padrao em scheduling.properties, sobrescrito pelas variaveis de ambiente)
+@Configuration
+@EnableScheduling
+@PropertySource("classpath:scheduling.properties")
+public class SchedulingConfig {
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+}
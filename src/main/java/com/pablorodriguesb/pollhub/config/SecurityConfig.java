@@ -1,19 +1,27 @@
 package com.pablorodriguesb.pollhub.config;
 
+import com.pablorodriguesb.pollhub.security.BoundedPasswordEncoder;
 import com.pablorodriguesb.pollhub.security.JwtAuthenticationEntryPoint;
 import com.pablorodriguesb.pollhub.security.JwtRequestFilter;
+import com.pablorodriguesb.pollhub.security.PasswordEncoders;
 import com.pablorodriguesb.pollhub.service.CustomUserDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -21,6 +29,7 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.List;
 
 @Configuration
 @EnableWebSecurity
@@ -35,6 +44,42 @@ public class SecurityConfig {
     @Autowired
     private JwtRequestFilter jwtRequestFilter;
 
+    // /actuator/prometheus so com HTTP Basic do usuario de coleta; sem senha
+    // configurada o endpoint fica fechado. avaliada antes da cadeia principal
+    @Bean
+    @Order(1)
+    public SecurityFilterChain metricsFilterChain(
+            HttpSecurity http,
+            PasswordEncoder passwordEncoder,
+            @Value("${pollhub.metrics.scrape.username:prometheus}") String username,
+            @Value("${pollhub.metrics.scrape.password:}") String password) throws Exception {
+        boolean enabled = !password.isBlank();
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsService(new InMemoryUserDetailsManager(enabled
+                ? List.of(User.withUsername(username)
+                        .password(passwordEncoder.encode(password))
+                        .roles("METRICS")
+                        .build())
+                : List.of()));
+
+        http.securityMatcher("/actuator/prometheus")
+                .csrf(csrf -> csrf.disable())
+                .authorizeHttpRequests(auth -> {
+                    if (enabled) {
+                        auth.anyRequest().hasRole("METRICS");
+                    } else {
+                        auth.anyRequest().denyAll();
+                    }
+                })
+                .authenticationManager(new ProviderManager(provider))
+                .httpBasic(Customizer.withDefaults())
+                .sessionManagement(sess -> sess
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                );
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.csrf(csrf -> csrf.disable())
@@ -47,19 +92,30 @@ public class SecurityConfig {
                                 "/login",
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**",
-                                "/ping"
+                                "/ping",
+                                // saude para o balanceador; metricas tem cadeia propria
+                                "/actuator/health",
+                                // handshake do websocket de resultados
+                                "/ws/**"
                         ).permitAll()
                         // Libera GETs públicos de enquetes
                         .requestMatchers(HttpMethod.GET,
                                 "/api/polls",
                                 "/api/polls/public",
                                 "/api/polls/*",
-                                "/api/polls/*/results"
+                                "/api/polls/*/results",
+                                "/api/polls/*/results/stream"
                         ).permitAll()
 
                         // Libera DELETE de enquetes pelo ADMIN no endpoint /admin/polls/**
                         .requestMatchers(HttpMethod.DELETE, "/admin/polls/**").hasRole("ADMIN")
 
+                        // Lote de votos em nome de outros usuarios: apenas quiosques e ADMIN
+                        .requestMatchers(HttpMethod.POST, "/api/votes/batch").hasAnyRole("ADMIN", "KIOSK")
+
+                        // Demais endpoints administrativos
+                        .requestMatchers("/admin/**").hasRole("ADMIN")
+
                         // Permite acesso autenticado ao GET dos polls do próprio usuário
                         .requestMatchers(HttpMethod.GET, "/api/users/me/polls").authenticated()
 
@@ -106,9 +162,21 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
+    // algoritmo e custo configuraveis; max-concurrent-hashes 0 usa metade dos nucleos.
+    // com todas as threads de hash ocupadas e a fila cheia, o login recebe 503
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${pollhub.security.password.algorithm:bcrypt}") String algorithm,
+            @Value("${pollhub.security.password.bcrypt-strength:10}") int bcryptStrength,
+            @Value("${pollhub.security.password.pbkdf2-iterations:310000}") int pbkdf2Iterations,
+            @Value("${pollhub.security.password.max-concurrent-hashes:0}") int maxConcurrentHashes,
+            @Value("${pollhub.security.password.hash-queue-capacity:32}") int hashQueueCapacity) {
+        int permits = maxConcurrentHashes > 0
+                ? maxConcurrentHashes
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(
+                PasswordEncoders.delegating(algorithm, bcryptStrength, pbkdf2Iterations),
+                permits, hashQueueCapacity);
     }
 
 }
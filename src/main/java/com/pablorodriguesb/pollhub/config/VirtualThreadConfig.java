@@ -0,0 +1,70 @@
+package com.pablorodriguesb.pollhub.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+// modo virtual threads (spring.threads.virtual.enabled=true): o Spring Boot passa
+// Tomcat, @Async, agendamento e as requisicoes assincronas (SSE, exportacao) para
+// virtual threads. este config so acrescenta o semaforo na frente do pool
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    // static: o post processor precisa existir antes do DataSource ser criado
+    @Bean
+    static BeanPostProcessor dbPermitDataSourcePostProcessor(
+            @Value("${pollhub.db.permits:0}") int permits,
+            @Value("${pollhub.db.permit-timeout-ms:30000}") long timeoutMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DbPermitDataSource)) {
+                    // padrao: uma permissao por conexao do pool
+                    int size = permits > 0 ? permits : poolSize(dataSource);
+                    return new DbPermitDataSource(dataSource, size, timeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder dbPermitMetrics(DataSource dataSource) throws SQLException {
+        DbPermitDataSource permits = dataSource.unwrap(DbPermitDataSource.class);
+        return registry -> {
+            Gauge.builder("pollhub.db.permits.available", permits, DbPermitDataSource::getAvailablePermits)
+                    .description("Permissoes de conexao livres")
+                    .register(registry);
+            Gauge.builder("pollhub.db.permits.waiting", permits, DbPermitDataSource::getWaitingThreads)
+                    .description("Threads aguardando permissao de conexao")
+                    .register(registry);
+        };
+    }
+
+    // sem tamanho configurado o Hikari informa -1 ate iniciar o pool e depois usa 10
+    private static int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                int size = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                if (size > 0) {
+                    return size;
+                }
+            }
+        } catch (SQLException e) {
+            // sem pool conhecido usa o padrao do Hikari
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+}
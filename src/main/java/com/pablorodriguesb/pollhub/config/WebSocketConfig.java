@@ -0,0 +1,39 @@
+package com.pablorodriguesb.pollhub.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+
+@Configuration
+@EnableWebSocketMessageBroker
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    private static final String APPLICATION_PREFIX = "/app/";
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        // mesmas origens liberadas no CORS da api
+        registry.addEndpoint("/ws")
+                .setAllowedOriginPatterns(
+                        "http://localhost:5173",
+                        "https://pollhub-sand.vercel.app",
+                        "https://pollhub-git-main-pablorodriguesbs-projects.vercel.app"
+                );
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        // broker em memoria; clientes so assinam, nao enviam mensagens
+        registry.enableSimpleBroker("/topic");
+        registry.setApplicationDestinationPrefixes("/app");
+    }
+
+    // sem isso qualquer cliente anonimo publica resultados falsos em /topic
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(new ClientSendInterceptor(APPLICATION_PREFIX));
+    }
+}
@@ -1,21 +1,29 @@
 package com.pablorodriguesb.pollhub.controller;
 
+import com.pablorodriguesb.pollhub.dto.VoteCountDriftDTO;
 import com.pablorodriguesb.pollhub.service.PollService;
+import com.pablorodriguesb.pollhub.service.VoteCountReconciliationService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/admin")
 public class AdminPollController {
 
     private final PollService pollService;
+    private final VoteCountReconciliationService reconciliationService;
 
-    public AdminPollController(PollService pollService) {
+    public AdminPollController(PollService pollService,
+                               VoteCountReconciliationService reconciliationService) {
         this.pollService = pollService;
+        this.reconciliationService = reconciliationService;
     }
 
     // endpoint para deletar enquete por id, somente Admins
@@ -25,4 +33,11 @@ public class AdminPollController {
         pollService.deletePoll(id);
         return ResponseEntity.ok("Enquete deletada pelo admin.");
     }
+
+    // executa a reconciliacao das contagens de votos e retorna as divergencias
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/votes/reconcile")
+    public ResponseEntity<List<VoteCountDriftDTO>> reconcileVoteCounts() {
+        return ResponseEntity.ok(reconciliationService.reconcile());
+    }
 }
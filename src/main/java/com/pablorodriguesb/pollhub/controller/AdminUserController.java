@@ -0,0 +1,32 @@
+package com.pablorodriguesb.pollhub.controller;
+
+import com.pablorodriguesb.pollhub.dto.UserRoleDTO;
+import com.pablorodriguesb.pollhub.service.UserService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin/users")
+public class AdminUserController {
+
+    private final UserService userService;
+
+    public AdminUserController(UserService userService) {
+        this.userService = userService;
+    }
+
+    // concede ou retira o papel de quiosque (lote de votos); somente Admins
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping("/{username}/role")
+    public ResponseEntity<Void> changeRole(@PathVariable String username,
+                                           @Valid @RequestBody UserRoleDTO roleDTO) {
+        userService.changeRole(username, roleDTO.getRole());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -5,15 +5,27 @@ import com.pablorodriguesb.pollhub.exception.ResourceNotFoundException;
 import com.pablorodriguesb.pollhub.model.Option;
 import com.pablorodriguesb.pollhub.model.Poll;
 import com.pablorodriguesb.pollhub.model.User;
+import com.pablorodriguesb.pollhub.security.AuthenticatedUser;
+import com.pablorodriguesb.pollhub.service.PollQueryService;
 import com.pablorodriguesb.pollhub.service.PollService;
+import com.pablorodriguesb.pollhub.service.ResultsStreamService;
 import com.pablorodriguesb.pollhub.service.UserService;
+import com.pablorodriguesb.pollhub.service.VoteIngestionService;
+import com.pablorodriguesb.pollhub.service.VoteService;
+import com.pablorodriguesb.pollhub.service.VoteTallyService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -23,12 +35,27 @@ import java.util.stream.Collectors;
 public class PollController {
 
     private final PollService pollService;
+    private final PollQueryService pollQueryService;
     private final UserService userService;
+    private final VoteService voteService;
+    private final VoteIngestionService voteIngestionService;
+    private final ResultsStreamService resultsStreamService;
+    private final VoteTallyService voteTallyService;
 
     @Autowired
-    public PollController(PollService pollService, UserService userService) {
+    public PollController(PollService pollService, PollQueryService pollQueryService,
+                          UserService userService,
+                          VoteService voteService,
+                          VoteIngestionService voteIngestionService,
+                          ResultsStreamService resultsStreamService,
+                          VoteTallyService voteTallyService) {
         this.pollService = pollService;
+        this.pollQueryService = pollQueryService;
         this.userService = userService;
+        this.voteService = voteService;
+        this.voteIngestionService = voteIngestionService;
+        this.resultsStreamService = resultsStreamService;
+        this.voteTallyService = voteTallyService;
     }
 
     // cria uma nova enquete.
@@ -66,15 +93,14 @@ public class PollController {
         return ResponseEntity.ok(pollService.convertToPollDTO(savedPoll));
     }
 
-    // lista todas enquetes publicas.
+    // lista as enquetes publicas, paginadas por cursor.
     @GetMapping
-    public ResponseEntity<List<PollResponseDTO>> getPublicPolls() {
-        List<Poll> polls = pollService.getPublicPolls();
-        return ResponseEntity.ok(
-                polls.stream()
-                        .map(pollService::convertToPollDTO)
-                        .collect(Collectors.toList())
-        );
+    public ResponseEntity<PollPageDTO> getPublicPolls(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PollQueryService.DEFAULT_LIMIT) int limit,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(pollQueryService.getPublicPolls(
+                cursor, limit, AuthenticatedUser.idOf(userDetails)));
     }
 
     // detalha uma enquete pelo Id.
@@ -114,36 +140,77 @@ public class PollController {
                 .orElseThrow(() -> new IllegalArgumentException(
                         "Usuário não encontrado"));
 
-        pollService.vote(id, optionId, voter);
+        // no modo write-behind o voto e aceito (202) e gravado no proximo lote;
+        // 202 nao e garantia de gravacao: com o banco fora alem das tentativas
+        // o voto e perdido (pollhub.votes.write-behind.dropped)
+        if (voteIngestionService.isEnabled()) {
+            voteIngestionService.submit(id, optionId, voter);
+            return ResponseEntity.accepted().build();
+        }
+
+        voteService.vote(id, optionId, voter);
         return ResponseEntity.ok().build();
     }
 
-    // logica de privacidade da enquete
+    // logica de privacidade da enquete. acesso e versao vem da contagem em
+    // memoria; com If-None-Match igual a versao atual responde 304 sem corpo
     @GetMapping("/{id}/results")
     public ResponseEntity<PollResultDTO> getResults(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
-
-        Poll poll = pollService.getPollById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Enquete" +
-                        "não encontrada"));
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
         // se a enquete for privada, so o criador pode ver os resultados
-        if (!poll.getIsPublic()) {
-            if (userDetails == null) {
-                throw new AccessDeniedException(
-                        "Acesso negado: autenticação necessária");
+        String username = userDetails != null ? userDetails.getUsername() : null;
+        if (!voteTallyService.canView(id, username)) {
+            throw new AccessDeniedException(username == null
+                    ? "Acesso negado: autenticação necessária"
+                    : "Acesso negado: você não é o criador desta enquete");
+        }
+
+        // tag e corpo saem da mesma leitura da contagem: uma recarga entre as duas
+        // associaria numeros de uma geracao a tag de outra
+        VoteTallyService.VersionedResults results = voteTallyService.getVersionedResults(id);
+        String etag = voteTallyService.resultsETag(results.version());
+        // o cliente sempre revalida; private porque a enquete pode ser restrita ao criador
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (matchesETag(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(results.results());
+    }
+
+    // If-None-Match usa comparacao fraca: ignora o prefixo W/ das tags enviadas
+    private static boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
             }
-            User currentUser = userService.findByUsername(userDetails.getUsername())
-                    .orElseThrow(() -> new IllegalArgumentException(
-                            "Usuário não encontrado"));
-            if (!poll.getCreatedBy().getId().equals(currentUser.getId())) {
-                throw new AccessDeniedException(
-                        "Acesso negado: você não é o criador desta enquete");
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
             }
         }
-        PollResultDTO results = pollService.getResults(id);
-        return ResponseEntity.ok(results);
+        return false;
+    }
+
+    // resultados em tempo real via SSE; a conexao fica assincrona e nao
+    // ocupa uma thread do Tomcat enquanto aberta
+    @GetMapping(value = "/{id}/results/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamResults(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        String username = userDetails != null ? userDetails.getUsername() : null;
+        return resultsStreamService.subscribe(id, username);
     }
 
     @DeleteMapping("/{id}")
@@ -1,5 +1,6 @@
 package com.pablorodriguesb.pollhub.controller;
 
+import com.pablorodriguesb.pollhub.dto.PollPageDTO;
 import com.pablorodriguesb.pollhub.dto.PollResponseDTO;
 import com.pablorodriguesb.pollhub.dto.UserDTO;
 import com.pablorodriguesb.pollhub.dto.UserResponseDTO;
@@ -8,6 +9,8 @@ import com.pablorodriguesb.pollhub.exception.UserAlreadyExistsException;
 import com.pablorodriguesb.pollhub.model.Poll;
 import com.pablorodriguesb.pollhub.model.User;
 import com.pablorodriguesb.pollhub.model.Vote;
+import com.pablorodriguesb.pollhub.security.AuthenticatedUser;
+import com.pablorodriguesb.pollhub.service.PollQueryService;
 import com.pablorodriguesb.pollhub.service.PollService;
 import com.pablorodriguesb.pollhub.service.UserService;
 import com.pablorodriguesb.pollhub.service.VoteService;
@@ -31,13 +34,15 @@ public class UserController {
     private final UserService userService;
     private final VoteService voteService;
     private final PollService pollService;
+    private final PollQueryService pollQueryService;
 
     @Autowired
     public UserController(UserService userService, VoteService voteService,
-                          PollService pollService) {
+                          PollService pollService, PollQueryService pollQueryService) {
         this.userService = userService;
         this.voteService = voteService;
         this.pollService = pollService;
+        this.pollQueryService = pollQueryService;
     }
 
     // endpoint para cadastro de novo usuario.
@@ -63,20 +68,19 @@ public class UserController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
-    // lista todas enquetes criadas por um usuario.
+    // lista as enquetes criadas por um usuario, paginadas por cursor.
     @GetMapping("/{username}/polls")
-    public ResponseEntity<List<PollResponseDTO>> getUserPolls(@PathVariable String username) {
+    public ResponseEntity<PollPageDTO> getUserPolls(
+            @PathVariable String username,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PollQueryService.DEFAULT_LIMIT) int limit,
+            @AuthenticationPrincipal UserDetails userDetails) {
         User user = userService.findByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException(
                         "Usuário não encontrado"));
 
-        List<Poll> polls = pollService.getPollsByUserWithDetails(user);
-
-        return ResponseEntity.ok(
-                polls.stream()
-                        .map(pollService::convertToPollDTO)  // metodo auxiliar
-                        .collect(Collectors.toList())
-        );
+        return ResponseEntity.ok(pollQueryService.getPollsByUser(
+                user, cursor, limit, AuthenticatedUser.idOf(userDetails)));
     }
 
     @GetMapping("/me/votes")
@@ -92,6 +96,17 @@ public class UserController {
         return ResponseEntity.ok(dtos);
     }
 
+    // encerra todas as sessoes: tokens emitidos antes deixam de ser aceitos
+    @PostMapping("/me/tokens/revoke")
+    public ResponseEntity<Void> revokeMyTokens(
+            @AuthenticationPrincipal UserDetails userDetails) {
+        if (userDetails == null) {
+            throw new AccessDeniedException("Acesso negado: usuário não autenticado");
+        }
+        userService.revokeTokens(userDetails.getUsername());
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/me/polls")
     public ResponseEntity<List<PollResponseDTO>> getMyPolls(
             @AuthenticationPrincipal UserDetails userDetails) {
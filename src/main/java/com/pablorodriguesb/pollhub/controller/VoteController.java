@@ -1,15 +1,26 @@
 package com.pablorodriguesb.pollhub.controller;
 
+import com.pablorodriguesb.pollhub.dto.VoteBatchRequestDTO;
+import com.pablorodriguesb.pollhub.dto.VoteBatchResponseDTO;
 import com.pablorodriguesb.pollhub.dto.VoteResponseDTO;
 import com.pablorodriguesb.pollhub.exception.BadRequestException;
 import com.pablorodriguesb.pollhub.exception.ResourceNotFoundException;
 import com.pablorodriguesb.pollhub.service.PollService;
 import com.pablorodriguesb.pollhub.service.UserService;
+import com.pablorodriguesb.pollhub.service.VoteBatchService;
+import com.pablorodriguesb.pollhub.service.VoteExportService;
 import com.pablorodriguesb.pollhub.service.VoteService;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -19,14 +30,27 @@ public class VoteController {
     private final VoteService voteService;
     private final UserService userService;
     private final PollService pollService;
+    private final VoteExportService voteExportService;
+    private final VoteBatchService voteBatchService;
 
     @Autowired
     public VoteController(VoteService voteService,
                           UserService userService,
-                          PollService pollService) {
+                          PollService pollService,
+                          VoteExportService voteExportService,
+                          VoteBatchService voteBatchService) {
         this.voteService = voteService;
         this.userService = userService;
         this.pollService = pollService;
+        this.voteExportService = voteExportService;
+        this.voteBatchService = voteBatchService;
+    }
+
+    // recebe um lote de votos (quiosques/clientes offline) e devolve o status de cada entrada.
+    @PostMapping("/batch")
+    public ResponseEntity<VoteBatchResponseDTO> submitBatch(
+            @Valid @RequestBody VoteBatchRequestDTO request) {
+        return ResponseEntity.ok(voteBatchService.submit(request.getEntries()));
     }
 
     // listar todos os votos de uma enquete.
@@ -44,4 +68,22 @@ public class VoteController {
             throw new BadRequestException("Enquete não encontrada.");
         }
     }
+
+    // exporta os votos de uma enquete em ndjson (padrao) ou csv, em streaming.
+    @GetMapping("/poll/{pollId}/export")
+    public void exportVotesByPoll(@PathVariable Long pollId,
+                                  @RequestParam(defaultValue = "ndjson") String format,
+                                  @AuthenticationPrincipal UserDetails userDetails,
+                                  HttpServletResponse response) throws IOException {
+        VoteExportService.Format exportFormat = VoteExportService.Format.parse(format);
+        boolean admin = userDetails.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        voteExportService.checkCanExport(pollId, userDetails.getUsername(), admin);
+
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"poll-"
+                + pollId + "-votes." + exportFormat.name().toLowerCase() + "\"");
+        voteExportService.export(pollId, exportFormat, response.getOutputStream());
+    }
 }
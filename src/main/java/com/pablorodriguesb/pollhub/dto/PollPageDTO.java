@@ -0,0 +1,13 @@
+package com.pablorodriguesb.pollhub.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class PollPageDTO {
+    private List<PollResponseDTO> items;
+
+    // cursor opaco para a proxima pagina; nulo quando nao ha mais enquetes
+    private String nextCursor;
+}
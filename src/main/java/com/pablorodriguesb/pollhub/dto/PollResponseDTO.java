@@ -18,4 +18,6 @@ public class PollResponseDTO {
     private LocalDateTime createdAt;
     private String createdBy;
     private List<OptionDTO> options;
+    // preenchido nas listagens quando ha usuario autenticado
+    private Boolean votedByMe;
 }
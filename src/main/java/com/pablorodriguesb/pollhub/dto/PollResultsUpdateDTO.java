@@ -0,0 +1,15 @@
+package com.pablorodriguesb.pollhub.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class PollResultsUpdateDTO {
+    private Long pollId;
+    // votos recebidos por opcao desde o ultimo envio
+    private Map<Long, Long> deltas;
+    // contagem total apos aplicar os deltas
+    private List<OptionResultDTO> results;
+}
@@ -0,0 +1,11 @@
+package com.pablorodriguesb.pollhub.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class UserRoleDTO {
+    // USER ou KIOSK; ADMIN nao e concedido pela API
+    @NotBlank(message = "O papel é obrigatório")
+    private String role;
+}
@@ -0,0 +1,18 @@
+package com.pablorodriguesb.pollhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoteBatchEntryDTO {
+    private Long pollId;
+    private Long optionId;
+    private Long userId;
+    // momento do voto no quiosque; se ausente, usa o horario do envio
+    private LocalDateTime votedAt;
+}
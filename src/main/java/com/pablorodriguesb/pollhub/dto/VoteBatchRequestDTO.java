@@ -0,0 +1,12 @@
+package com.pablorodriguesb.pollhub.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class VoteBatchRequestDTO {
+    @NotEmpty(message = "O lote deve conter ao menos um voto")
+    private List<VoteBatchEntryDTO> entries;
+}
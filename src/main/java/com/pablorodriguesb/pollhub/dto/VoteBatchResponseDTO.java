@@ -0,0 +1,13 @@
+package com.pablorodriguesb.pollhub.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class VoteBatchResponseDTO {
+    private int accepted;
+    private int duplicates;
+    private int invalid;
+    private List<VoteBatchResultDTO> results;
+}
@@ -0,0 +1,14 @@
+package com.pablorodriguesb.pollhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoteBatchResultDTO {
+    // posicao da entrada no lote enviado
+    private int index;
+    private VoteBatchStatus status;
+}
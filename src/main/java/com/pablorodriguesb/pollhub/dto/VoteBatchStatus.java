@@ -0,0 +1,10 @@
+package com.pablorodriguesb.pollhub.dto;
+
+public enum VoteBatchStatus {
+    // voto gravado
+    ACCEPTED,
+    // usuario ja votou na enquete (no banco ou antes no mesmo lote)
+    DUPLICATE,
+    // campos ausentes, opcao fora da enquete ou usuario inexistente
+    INVALID
+}
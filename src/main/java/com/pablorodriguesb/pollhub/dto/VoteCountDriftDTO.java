@@ -0,0 +1,11 @@
+package com.pablorodriguesb.pollhub.dto;
+
+import lombok.Data;
+
+@Data
+public class VoteCountDriftDTO {
+    private Long pollId;
+    private Long optionId;
+    private int storedCount;
+    private long actualCount;
+}
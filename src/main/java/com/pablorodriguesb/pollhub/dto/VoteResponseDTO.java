@@ -1,10 +1,14 @@
 package com.pablorodriguesb.pollhub.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class VoteResponseDTO {
     private Long pollId;
     private String pollTitle;
@@ -0,0 +1,10 @@
+package com.pablorodriguesb.pollhub.event;
+
+import com.pablorodriguesb.pollhub.dto.PollResultsUpdateDTO;
+import com.pablorodriguesb.pollhub.service.ResultsVersion;
+
+// publicado pelo agregador de resultados ao fim de cada janela com votos.
+// version e a versao da contagem lida para montar os totais
+public record PollResultsUpdatedEvent(PollResultsUpdateDTO update, boolean publicPoll,
+                                      ResultsVersion version) {
+}
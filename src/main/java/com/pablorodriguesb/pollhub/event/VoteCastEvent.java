@@ -0,0 +1,7 @@
+package com.pablorodriguesb.pollhub.event;
+
+// evento publicado a cada voto registrado; os listeners reagem apos o commit.
+// optionVotes e a contagem da opcao logo depois deste voto, lida na mesma
+// transacao: numera o voto entre os que a opcao ja recebeu
+public record VoteCastEvent(Long pollId, Long optionId, Long userId, long optionVotes) {
+}
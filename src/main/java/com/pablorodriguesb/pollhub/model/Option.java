@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "options")
@@ -24,4 +25,9 @@ public class Option {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "poll_id", nullable = false)
     private Poll poll;
+
+    // contagem denormalizada, incrementada na mesma transacao do voto
+    @Column(name = "vote_count", nullable = false)
+    @ColumnDefault("0")
+    private int voteCount;
 }
@@ -11,7 +11,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "polls")
+@Table(name = "polls", indexes = {
+        // indices compostos para a paginacao por cursor (createdAt, id)
+        @Index(name = "idx_polls_public_created", columnList = "is_public, created_at, id"),
+        @Index(name = "idx_polls_creator_created", columnList = "created_by, created_at, id")
+    }
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
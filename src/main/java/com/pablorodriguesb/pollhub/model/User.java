@@ -1,33 +1,53 @@
 package com.pablorodriguesb.pollhub.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.pablorodriguesb.pollhub.security.UserCacheInvalidationListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = User.UK_USERNAME_LOWER, columnNames = "username_lower"),
+        @UniqueConstraint(name = User.UK_EMAIL_LOWER, columnNames = "email_lower")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@EntityListeners(UserCacheInvalidationListener.class)
 public class User {
 
+    public static final String UK_USERNAME_LOWER = "uk_users_username_lower";
+    public static final String UK_EMAIL_LOWER = "uk_users_email_lower";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 50)
+    // sem unique propria: a unicidade vale sem diferenciar maiusculas e fica
+    // so nas colunas normalizadas, para nao manter dois indices por insert
+    @Column(nullable = false, length = 50)
     private String username;
 
-    @Column(nullable = false, unique = true, length = 120)
+    @Column(nullable = false, length = 120)
     private String email;
 
+    // copias normalizadas para busca e unicidade sem diferenciar maiusculas,
+    // usando o indice unico em vez de LOWER(coluna)
+    @Column(name = "username_lower", length = 50)
+    private String usernameLower;
+
+    @Column(name = "email_lower", length = 120)
+    private String emailLower;
+
     @Column(nullable = false)
     private String password; // armazenar hash da senha
 
@@ -36,4 +56,20 @@ public class User {
 
     @Column(nullable = false)
     private String role = "ROLE_USER";
+
+    // incrementada para revogar todos os tokens JWT ja emitidos
+    @Column(name = "token_version", nullable = false)
+    @ColumnDefault("0")
+    private int tokenVersion;
+
+    @PrePersist
+    @PreUpdate
+    void normalize() {
+        this.usernameLower = normalize(username);
+        this.emailLower = normalize(email);
+    }
+
+    public static String normalize(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : null;
+    }
 }
@@ -9,7 +9,13 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "votes", uniqueConstraints = {
-        @UniqueConstraint(columnNames = {"user_id", "poll_id"})
+        @UniqueConstraint(name = Vote.UK_USER_POLL, columnNames = {"user_id", "poll_id"})
+    }, indexes = {
+        // a unique comeca por user_id e nao atende filtros so por enquete
+        // (exportacao e carga do indice de votantes)
+        @Index(name = "idx_votes_poll_user", columnList = "poll_id, user_id"),
+        // recontagem e conferencia de vote_count agregam por opcao
+        @Index(name = "idx_votes_option", columnList = "option_id")
     }
 )
 @Data
@@ -19,6 +25,9 @@ import java.time.LocalDateTime;
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Vote {
 
+    // um voto por usuario por enquete; o voto unitario depende dela para barrar duplicados
+    public static final String UK_USER_POLL = "uk_votes_user_poll";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -0,0 +1,74 @@
+package com.pablorodriguesb.pollhub.monitoring;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// anel limitado sem lock: varias threads de requisicao produzem e um unico
+// gravador consome. cada posicao tem um numero de sequencia que diz se ela
+// esta livre para a volta atual ou ja publicada; cheio, o registro e descartado
+final class AccessLogBuffer {
+
+    private final AccessLogEntry[] entries;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // so o gravador mexe no head
+    private long head;
+
+    AccessLogBuffer(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        entries = new AccessLogEntry[size];
+        sequences = new AtomicLongArray(size);
+        mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            entries[i] = new AccessLogEntry();
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return entries.length;
+    }
+
+    // reserva uma posicao para preencher; null com o anel cheio
+    AccessLogEntry claim() {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    AccessLogEntry entry = entries[index];
+                    entry.sequence = position;
+                    return entry;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                // outra thread levou a posicao
+                position = tail.get();
+            }
+        }
+    }
+
+    void publish(AccessLogEntry entry) {
+        sequences.setRelease((int) (entry.sequence & mask), entry.sequence + 1);
+    }
+
+    // proxima posicao publicada, ou null se o gravador alcancou os produtores
+    AccessLogEntry poll() {
+        int index = (int) (head & mask);
+        if (sequences.getAcquire(index) != head + 1) {
+            return null;
+        }
+        return entries[index];
+    }
+
+    // devolve a posicao lida por poll() para a proxima volta
+    void release(AccessLogEntry entry) {
+        entry.clear();
+        sequences.setRelease((int) (head & mask), head + entries.length);
+        head++;
+    }
+}
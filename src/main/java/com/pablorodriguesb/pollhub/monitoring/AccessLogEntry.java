@@ -0,0 +1,33 @@
+package com.pablorodriguesb.pollhub.monitoring;
+
+// posicao do anel do log de acesso. as instancias sao alocadas uma vez e
+// reaproveitadas: o filtro preenche, o gravador formata e libera
+final class AccessLogEntry {
+
+    static final byte AUTH_NONE = 0;
+    static final byte AUTH_BEARER = 1;
+    static final byte AUTH_OTHER = 2;
+
+    long sequence;
+
+    long timestamp;
+    String method;
+    String path;
+    String query;
+    int status;
+    String user;
+    byte auth;
+    long totalNanos;
+    long authNanos;
+    long handlerNanos;
+    int sqlStatements;
+    long sqlNanos;
+
+    // solta as referencias para nao segurar strings da requisicao no anel
+    void clear() {
+        method = null;
+        path = null;
+        query = null;
+        user = null;
+    }
+}
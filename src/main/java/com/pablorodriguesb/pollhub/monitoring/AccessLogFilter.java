@@ -0,0 +1,100 @@
+package com.pablorodriguesb.pollhub.monitoring;
+
+import com.pablorodriguesb.pollhub.security.JwtTokenUtil;
+import com.pablorodriguesb.pollhub.security.VerifiedToken;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// log de acesso amostrado. fica por fora do SqlBudgetFilter para ler a contagem
+// de SQL da requisicao; na thread da requisicao so mede e copia os campos para
+// o anel do AccessLogWriter, sem formatar nem escrever nada.
+// erros 5xx e requisicoes lentas entram sempre, independente da amostragem
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 2)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private final AccessLogWriter writer;
+    private final double sampleRate;
+    private final long slowNanos;
+
+    @Autowired
+    public AccessLogFilter(AccessLogWriter writer,
+                           @Value("${pollhub.access-log.sample-rate:0.1}") double sampleRate,
+                           @Value("${pollhub.access-log.slow-ms:1000}") long slowMs) {
+        this.writer = writer;
+        this.sampleRate = sampleRate;
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(slowMs);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !writer.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        RequestTiming timing = new RequestTiming();
+        request.setAttribute(RequestTiming.ATTRIBUTE, timing);
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            if (shouldLog(status, elapsed)) {
+                record(request, status, elapsed, timing);
+            }
+        }
+    }
+
+    private boolean shouldLog(int status, long elapsedNanos) {
+        return status >= 500
+                || elapsedNanos >= slowNanos
+                || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private void record(HttpServletRequest request, int status, long elapsedNanos, RequestTiming timing) {
+        AccessLogEntry entry = writer.claim();
+        if (entry == null) {
+            return;
+        }
+        entry.timestamp = System.currentTimeMillis();
+        entry.method = request.getMethod();
+        entry.path = request.getRequestURI();
+        entry.query = request.getQueryString();
+        entry.status = status;
+        entry.totalNanos = elapsedNanos;
+        entry.authNanos = timing.getAuthNanos();
+        entry.handlerNanos = timing.getHandlerNanos();
+
+        SqlRequestStats stats = (SqlRequestStats) request.getAttribute(SqlBudgetFilter.STATS_ATTRIBUTE);
+        entry.sqlStatements = stats != null ? stats.getStatements() : -1;
+        entry.sqlNanos = stats != null ? stats.getJdbcNanos() : 0;
+
+        VerifiedToken token = (VerifiedToken) request.getAttribute(JwtTokenUtil.VERIFIED_TOKEN_ATTRIBUTE);
+        entry.user = token != null ? token.subject() : null;
+
+        String authorization = request.getHeader("Authorization");
+        entry.auth = authorization == null ? AccessLogEntry.AUTH_NONE
+                : authorization.startsWith("Bearer ") ? AccessLogEntry.AUTH_BEARER
+                : AccessLogEntry.AUTH_OTHER;
+
+        writer.publish(entry);
+    }
+}
@@ -0,0 +1,206 @@
+package com.pablorodriguesb.pollhub.monitoring;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+// grava o log de acesso fora da thread da requisicao: o filtro so copia
+// referencias e numeros para o anel, e a formatacao e a escrita no logger
+// pollhub.access acontecem aqui, em uma thread em segundo plano
+@Component
+public class AccessLogWriter {
+
+    private static final Logger accessLog = LoggerFactory.getLogger("pollhub.access");
+
+    // parametros de query que nunca vao para o log
+    private static final Set<String> SENSITIVE_PARAMS =
+            Set.of("token", "access_token", "jwt", "password", "authorization");
+
+    private final AccessLogBuffer buffer;
+    private final boolean enabled;
+    private final long drainIntervalNanos;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    // reaproveitado pela unica thread que formata
+    private final StringBuilder line = new StringBuilder(256);
+
+    private volatile boolean running;
+    private Thread writer;
+
+    @Autowired
+    public AccessLogWriter(MeterRegistry meterRegistry,
+                           @Value("${pollhub.access-log.enabled:true}") boolean enabled,
+                           @Value("${pollhub.access-log.buffer-size:8192}") int bufferSize,
+                           @Value("${pollhub.access-log.drain-interval-ms:100}") long drainIntervalMs) {
+        this.buffer = new AccessLogBuffer(bufferSize);
+        this.enabled = enabled;
+        this.drainIntervalNanos = TimeUnit.MILLISECONDS.toNanos(drainIntervalMs);
+
+        FunctionCounter.builder("pollhub.access.log.records", written, LongAdder::sum)
+                .description("Registros gravados no log de acesso")
+                .tag("result", "written")
+                .register(meterRegistry);
+        FunctionCounter.builder("pollhub.access.log.records", dropped, LongAdder::sum)
+                .description("Registros descartados com o anel cheio")
+                .tag("result", "dropped")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = Thread.ofPlatform()
+                .name("access-log-writer")
+                .daemon(true)
+                .start(this::runWriter);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        // grava o que sobrou no anel antes de desligar
+        drain(this::write);
+    }
+
+    // posicao livre para o filtro preencher; null (e um descarte) com o anel cheio
+    AccessLogEntry claim() {
+        AccessLogEntry entry = buffer.claim();
+        if (entry == null) {
+            dropped.increment();
+        }
+        return entry;
+    }
+
+    void publish(AccessLogEntry entry) {
+        buffer.publish(entry);
+    }
+
+    long getWritten() {
+        return written.sum();
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+
+    private void runWriter() {
+        Consumer<CharSequence> sink = this::write;
+        while (running) {
+            try {
+                if (drain(sink) == 0) {
+                    // sem sinalizacao dos produtores: o gravador so acorda por tempo
+                    LockSupport.parkNanos(drainIntervalNanos);
+                }
+            } catch (RuntimeException e) {
+                accessLog.error("Falha no gravador do log de acesso", e);
+            }
+        }
+    }
+
+    private void write(CharSequence formatted) {
+        accessLog.info(formatted.toString());
+    }
+
+    // formata e entrega tudo o que ja foi publicado; retorna quantos registros
+    int drain(Consumer<CharSequence> sink) {
+        int count = 0;
+        AccessLogEntry entry;
+        while ((entry = buffer.poll()) != null) {
+            try {
+                line.setLength(0);
+                format(entry, line);
+                sink.accept(line);
+                count++;
+            } finally {
+                buffer.release(entry);
+            }
+        }
+        written.add(count);
+        return count;
+    }
+
+    // GET /api/polls?page=1 200 12.3ms auth=0.4ms handler=11.6ms sql=3/1.2ms user=ana bearer
+    static void format(AccessLogEntry entry, StringBuilder out) {
+        out.append(Instant.ofEpochMilli(entry.timestamp)).append(' ')
+                .append(entry.method).append(' ').append(entry.path);
+        if (entry.query != null) {
+            out.append('?');
+            appendRedactedQuery(entry.query, out);
+        }
+        out.append(' ').append(entry.status).append(' ');
+        appendMillis(entry.totalNanos, out);
+        if (entry.authNanos >= 0) {
+            out.append(" auth=");
+            appendMillis(entry.authNanos, out);
+        }
+        if (entry.handlerNanos >= 0) {
+            out.append(" handler=");
+            appendMillis(entry.handlerNanos, out);
+        }
+        if (entry.sqlStatements >= 0) {
+            out.append(" sql=").append(entry.sqlStatements).append('/');
+            appendMillis(entry.sqlNanos, out);
+        }
+        out.append(" user=").append(entry.user != null ? entry.user : "-");
+        // do cabecalho Authorization so o esquema entra no log, nunca o token
+        switch (entry.auth) {
+            case AccessLogEntry.AUTH_BEARER -> out.append(" bearer");
+            case AccessLogEntry.AUTH_OTHER -> out.append(" other-auth");
+            default -> {
+            }
+        }
+    }
+
+    private static void appendMillis(long nanos, StringBuilder out) {
+        long tenths = nanos / 100_000;
+        out.append(tenths / 10).append('.').append(tenths % 10).append("ms");
+    }
+
+    private static void appendRedactedQuery(String query, StringBuilder out) {
+        int start = 0;
+        while (start <= query.length()) {
+            int end = query.indexOf('&', start);
+            if (end < 0) {
+                end = query.length();
+            }
+            int equals = query.indexOf('=', start);
+            if (equals > start && equals < end
+                    && SENSITIVE_PARAMS.contains(query.substring(start, equals).toLowerCase(Locale.ROOT))) {
+                out.append(query, start, equals + 1).append("***");
+            } else {
+                out.append(query, start, end);
+            }
+            if (end < query.length()) {
+                out.append('&');
+            }
+            start = end + 1;
+        }
+    }
+}
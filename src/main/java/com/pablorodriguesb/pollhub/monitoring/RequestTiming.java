@@ -0,0 +1,34 @@
+package com.pablorodriguesb.pollhub.monitoring;
+
+import jakarta.servlet.ServletRequest;
+
+// tempos de uma requisicao para o log de acesso: aberto pelo AccessLogFilter
+// e preenchido pelo JwtRequestFilter (autenticacao e o resto da cadeia)
+public final class RequestTiming {
+
+    public static final String ATTRIBUTE = RequestTiming.class.getName();
+
+    private long authNanos = -1;
+    private long handlerNanos = -1;
+
+    // null quando o log de acesso esta desligado ou fora de uma requisicao
+    public static RequestTiming of(ServletRequest request) {
+        return (RequestTiming) request.getAttribute(ATTRIBUTE);
+    }
+
+    public void authenticated(long nanos) {
+        authNanos = nanos;
+    }
+
+    public void handled(long nanos) {
+        handlerNanos = nanos;
+    }
+
+    public long getAuthNanos() {
+        return authNanos;
+    }
+
+    public long getHandlerNanos() {
+        return handlerNanos;
+    }
+}
@@ -0,0 +1,94 @@
+package com.pablorodriguesb.pollhub.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// orcamento de statements SQL por requisicao. roda antes da cadeia de seguranca
+// para incluir as consultas da autenticacao; acima do limite registra um aviso
+// e uma metrica, e com pollhub.sql.budget.fail=true (perfil de teste) falha a requisicao.
+// conta apenas o que passa pelo Hibernate; JdbcTemplate fica de fora
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlBudgetFilter.class);
+
+    // estatisticas da requisicao, para os testes conferirem a contagem por endpoint
+    public static final String STATS_ATTRIBUTE = SqlBudgetFilter.class.getName() + ".STATS";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxStatements;
+    private final boolean fail;
+
+    @Autowired
+    public SqlBudgetFilter(MeterRegistry meterRegistry,
+                           @Value("${pollhub.sql.budget.max-statements:10}") int maxStatements,
+                           @Value("${pollhub.sql.budget.fail:false}") boolean fail) {
+        this.meterRegistry = meterRegistry;
+        this.maxStatements = maxStatements;
+        this.fail = fail;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.begin();
+        request.setAttribute(STATS_ATTRIBUTE, stats);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestStats.end();
+        }
+        record(request, stats);
+    }
+
+    private void record(HttpServletRequest request, SqlRequestStats stats) {
+        // padrao da rota (/api/polls/{id}), nao a url, para limitar as series
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("pollhub.sql.statements")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("pollhub.sql.time")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.getStatements() <= maxStatements) {
+            return;
+        }
+        Counter.builder("pollhub.sql.budget.exceeded")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .increment();
+        String message = String.format("%s %s executou %d statements SQL (limite %d, %d ms de JDBC)",
+                method, uri, stats.getStatements(), maxStatements,
+                TimeUnit.NANOSECONDS.toMillis(stats.getJdbcNanos()));
+        if (fail) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+}
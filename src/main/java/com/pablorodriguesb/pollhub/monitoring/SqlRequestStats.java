@@ -0,0 +1,43 @@
+package com.pablorodriguesb.pollhub.monitoring;
+
+// statements SQL e tempo de JDBC da requisicao em andamento. o escopo e a
+// thread da requisicao: aberto pelo SqlBudgetFilter e alimentado pelo
+// SqlStatementListener em cada sessao do Hibernate usada por essa thread
+public final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long jdbcNanos;
+
+    static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    // null fora de uma requisicao (jobs agendados, virtual threads de carga)
+    static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    void statementPrepared() {
+        statements++;
+    }
+
+    void executed(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+}
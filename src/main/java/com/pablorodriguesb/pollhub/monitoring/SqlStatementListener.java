@@ -0,0 +1,45 @@
+package com.pablorodriguesb.pollhub.monitoring;
+
+import org.hibernate.SessionEventListener;
+
+// instanciado pelo Hibernate para cada sessao (hibernate.session.events.auto).
+// conta os statements preparados e soma o tempo de execucao no JDBC
+public class SqlStatementListener implements SessionEventListener {
+
+    private long executeStart;
+
+    @Override
+    public void jdbcPrepareStatementStart() {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            stats.statementPrepared();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        addExecutionTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        addExecutionTime();
+    }
+
+    private void addExecutionTime() {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            stats.executed(System.nanoTime() - executeStart);
+        }
+    }
+}
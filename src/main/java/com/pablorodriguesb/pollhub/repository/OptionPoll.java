@@ -0,0 +1,7 @@
+package com.pablorodriguesb.pollhub.repository;
+
+// projecao da opcao com o id da enquete a que pertence
+public interface OptionPoll {
+    Long getOptionId();
+    Long getPollId();
+}
@@ -2,7 +2,47 @@ package com.pablorodriguesb.pollhub.repository;
 
 import com.pablorodriguesb.pollhub.model.Option;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 
 public interface OptionRepository extends JpaRepository<Option, Long> {
+    // verifica se a opcao pertence a enquete sem carregar as entidades
+    boolean existsByIdAndPollId(Long id, Long pollId);
+
+    // enquete de cada opcao informada, em uma unica consulta
+    @Query("SELECT o.id AS optionId, o.poll.id AS pollId FROM Option o WHERE o.id IN :ids")
+    List<OptionPoll> findPollIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // contagem denormalizada das opcoes das enquetes informadas
+    @Query("SELECT o.id AS optionId, o.poll.id AS pollId, o.voteCount AS voteCount " +
+            "FROM Option o WHERE o.poll.id IN :pollIds")
+    List<OptionVoteCount> findVoteCountsByPollIdIn(@Param("pollIds") Collection<Long> pollIds);
+
+    // opcoes cuja contagem denormalizada difere da contagem real de votos
+    @Query("SELECT o.id AS optionId, o.poll.id AS pollId, o.voteCount AS storedCount, " +
+            "COUNT(v) AS actualCount FROM Option o LEFT JOIN Vote v ON v.option = o " +
+            "GROUP BY o.id, o.poll.id, o.voteCount HAVING o.voteCount <> COUNT(v)")
+    List<VoteCountDrift> findVoteCountDrift();
+
+    // recalcula a contagem a partir da tabela votes em um unico comando
+    @Modifying
+    @Query(value = "UPDATE options SET vote_count = " +
+            "(SELECT COUNT(*) FROM votes v WHERE v.option_id = options.id) WHERE id = :id",
+            nativeQuery = true)
+    int recountVotes(@Param("id") Long id);
+
+    // recalcula em um unico comando todas as opcoes cuja contagem diverge; as
+    // divergentes saem de uma unica agregacao e so elas sao recontadas
+    @Modifying
+    @Query(value = "UPDATE options SET vote_count = " +
+            "(SELECT COUNT(*) FROM votes v WHERE v.option_id = options.id) " +
+            "WHERE id IN (SELECT o.id FROM options o LEFT JOIN votes v ON v.option_id = o.id " +
+            "GROUP BY o.id, o.vote_count HAVING o.vote_count <> COUNT(v.id))",
+            nativeQuery = true)
+    int recountDriftedVotes();
 }
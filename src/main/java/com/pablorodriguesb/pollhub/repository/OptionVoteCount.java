@@ -0,0 +1,8 @@
+package com.pablorodriguesb.pollhub.repository;
+
+// projecao da contagem denormalizada de uma opcao
+public interface OptionVoteCount {
+    Long getOptionId();
+    Long getPollId();
+    Long getVoteCount();
+}
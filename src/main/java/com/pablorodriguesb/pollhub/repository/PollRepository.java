@@ -2,11 +2,15 @@ package com.pablorodriguesb.pollhub.repository;
 
 import com.pablorodriguesb.pollhub.model.Poll;
 import com.pablorodriguesb.pollhub.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface PollRepository extends JpaRepository<Poll, Long> {
     // Busca todas as enquetes públicas
@@ -16,4 +20,40 @@ public interface PollRepository extends JpaRepository<Poll, Long> {
     // Consulta otimizada para enquetes de um usuario com opcoes
     @Query("SELECT DISTINCT p FROM Poll p LEFT JOIN FETCH p.options WHERE p.createdBy = :user")
     List<Poll> findByCreatedByWithDetails(@Param("user") User user);
+
+    // paginacao por cursor: ids da primeira pagina e das seguintes, do mais recente ao mais antigo
+    @Query("SELECT p.id FROM Poll p WHERE p.isPublic = true " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Long> findPublicPageIds(Limit limit);
+
+    @Query("SELECT p.id FROM Poll p WHERE p.isPublic = true " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Long> findPublicPageIdsAfter(@Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id, Limit limit);
+
+    @Query("SELECT p.id FROM Poll p WHERE p.createdBy = :user " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Long> findPageIdsByCreatedBy(@Param("user") User user, Limit limit);
+
+    @Query("SELECT p.id FROM Poll p WHERE p.createdBy = :user " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Long> findPageIdsByCreatedByAfter(@Param("user") User user,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id, Limit limit);
+
+    // enquetes da pagina com criador e opcoes em uma unica consulta (sem N+1)
+    @Query("SELECT DISTINCT p FROM Poll p JOIN FETCH p.createdBy " +
+            "LEFT JOIN FETCH p.options WHERE p.id IN :ids")
+    List<Poll> findWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // carrega a enquete ja com criador e opcoes, evitando o lazy load
+    @Query("SELECT DISTINCT p FROM Poll p JOIN FETCH p.createdBy " +
+            "LEFT JOIN FETCH p.options WHERE p.id = :id")
+    Optional<Poll> findByIdWithOptions(@Param("id") Long id);
+
+    // dono da enquete sem carregar a entidade, para checar permissao
+    @Query("SELECT u.username FROM Poll p JOIN p.createdBy u WHERE p.id = :id")
+    Optional<String> findCreatorUsernameById(@Param("id") Long id);
 }
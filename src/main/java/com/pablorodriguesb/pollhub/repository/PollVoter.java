@@ -0,0 +1,7 @@
+package com.pablorodriguesb.pollhub.repository;
+
+// projecao de um voto existente: quem ja votou em qual enquete
+public interface PollVoter {
+    Long getPollId();
+    Long getUserId();
+}
@@ -2,19 +2,47 @@ package com.pablorodriguesb.pollhub.repository;
 
 import com.pablorodriguesb.pollhub.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmailIgnoreCase(String username);
-    Optional<User> findByUsernameIgnoreCase(String username);
 
-    // consulta otimizada com query pois podem nao usar indices
-    @Query("SELECT COUNT(u) > 0 FROM User u WHERE LOWER(u.email) = LOWER(:email)")
-    boolean existsByEmailIgnoreCase(@Param("email") String email);
+    // buscas ignore-case pelas colunas normalizadas, que tem indice unico
+    Optional<User> findByEmailLower(String emailLower);
+    Optional<User> findByUsernameLower(String usernameLower);
+    boolean existsByEmailLower(String emailLower);
+    boolean existsByUsernameLower(String usernameLower);
 
-    @Query("SELECT COUNT(u) > 0 FROM User u WHERE LOWER(u.username) = LOWER(:username)")
-    boolean existsByUsernameIgnoreCase(@Param("username") String username);
+    default Optional<User> findByEmailIgnoreCase(String email) {
+        return findByEmailLower(User.normalize(email));
+    }
+
+    default Optional<User> findByUsernameIgnoreCase(String username) {
+        return findByUsernameLower(User.normalize(username));
+    }
+
+    default boolean existsByEmailIgnoreCase(String email) {
+        return existsByEmailLower(User.normalize(email));
+    }
+
+    default boolean existsByUsernameIgnoreCase(String username) {
+        return existsByUsernameLower(User.normalize(username));
+    }
+
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    // preenche as colunas normalizadas de usuarios gravados antes delas existirem
+    @Modifying
+    @Query("UPDATE User u SET u.usernameLower = LOWER(u.username), u.emailLower = LOWER(u.email) " +
+            "WHERE u.usernameLower IS NULL OR u.emailLower IS NULL")
+    int backfillLowercaseColumns();
 }
@@ -0,0 +1,9 @@
+package com.pablorodriguesb.pollhub.repository;
+
+// projecao de uma opcao com a contagem denormalizada divergente
+public interface VoteCountDrift {
+    Long getOptionId();
+    Long getPollId();
+    int getStoredCount();
+    long getActualCount();
+}
@@ -0,0 +1,112 @@
+package com.pablorodriguesb.pollhub.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// gravacao de votos em lote. o id IDENTITY desativa o batching do Hibernate,
+// entao as linhas sao enviadas como um unico INSERT com varios VALUES.
+@Repository
+public class VoteJdbcRepository {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO votes (user_id, option_id, poll_id, voted_at) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?)";
+
+    // incremento que devolve a nova contagem no mesmo comando
+    private static final String INCREMENT_RETURNING_POSTGRES =
+            "UPDATE options SET vote_count = vote_count + 1 WHERE id = ? RETURNING vote_count";
+    private static final String INCREMENT_RETURNING_H2 =
+            "SELECT vote_count FROM FINAL TABLE (UPDATE options SET vote_count = vote_count + 1 WHERE id = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String incrementReturningSql;
+
+    @Autowired
+    public VoteJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // insere todas as linhas em um unico comando. se alguma violar a unique
+    // (user_id, poll_id) o comando inteiro falha com DataIntegrityViolationException
+    public int insertAll(List<VoteRow> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length()
+                + rows.size() * (ROW_PLACEHOLDER.length() + 2));
+        sql.append(INSERT_PREFIX);
+        Object[] args = new Object[rows.size() * 4];
+
+        int i = 0;
+        for (VoteRow row : rows) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDER);
+            args[i++] = row.userId();
+            args[i++] = row.optionId();
+            args[i++] = row.pollId();
+            args[i++] = Timestamp.valueOf(row.votedAt());
+        }
+        return jdbcTemplate.update(sql.toString(), args);
+    }
+
+    // soma os votos gravados a contagem denormalizada de cada opcao e devolve a
+    // contagem resultante. a linha fica travada ate o commit, entao o valor lido
+    // aqui so inclui votos ja confirmados e os desta transacao
+    public Map<Long, Long> incrementVoteCounts(Map<Long, Integer> votesByOption) {
+        if (votesByOption.isEmpty()) {
+            return Map.of();
+        }
+        List<Object[]> args = new ArrayList<>(votesByOption.size());
+        votesByOption.forEach((optionId, votes) -> args.add(new Object[]{votes, optionId}));
+        jdbcTemplate.batchUpdate(
+                "UPDATE options SET vote_count = vote_count + ? WHERE id = ?", args);
+
+        String placeholders = String.join(", ", Collections.nCopies(votesByOption.size(), "?"));
+        Map<Long, Long> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT id, vote_count FROM options WHERE id IN (" + placeholders + ")",
+                rs -> {
+                    counts.put(rs.getLong(1), rs.getLong(2));
+                },
+                votesByOption.keySet().toArray());
+        return counts;
+    }
+
+    // soma um voto a opcao e devolve a contagem resultante, sem uma segunda
+    // consulta. a linha fica travada ate o commit, entao o valor numera o voto
+    public long incrementVoteCount(long optionId) {
+        String sql = incrementReturningSql();
+        if (sql == null) {
+            // banco sem UPDATE que devolva linhas: incremento e leitura separados
+            jdbcTemplate.update("UPDATE options SET vote_count = vote_count + 1 WHERE id = ?", optionId);
+            return jdbcTemplate.queryForObject("SELECT vote_count FROM options WHERE id = ?", Long.class, optionId);
+        }
+        return jdbcTemplate.queryForObject(sql, Long.class, optionId);
+    }
+
+    // escolhe o comando pelo banco na primeira chamada
+    private String incrementReturningSql() {
+        String sql = incrementReturningSql;
+        if (sql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            String name = product != null ? product.toLowerCase(Locale.ROOT) : "";
+            sql = name.contains("postgres") ? INCREMENT_RETURNING_POSTGRES
+                    : name.contains("h2") ? INCREMENT_RETURNING_H2 : "";
+            incrementReturningSql = sql;
+        }
+        return sql.isEmpty() ? null : sql;
+    }
+}
@@ -1,16 +1,55 @@
 package com.pablorodriguesb.pollhub.repository;
 
+import com.pablorodriguesb.pollhub.dto.VoteResponseDTO;
 import com.pablorodriguesb.pollhub.model.Option;
 import com.pablorodriguesb.pollhub.model.Poll;
 import com.pablorodriguesb.pollhub.model.User;
 import com.pablorodriguesb.pollhub.model.Vote;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface VoteRepository extends JpaRepository<Vote, Long> {
+    // enquete, opcao e usuario no mesmo select; a conversao para dto le os tres
+    @EntityGraph(attributePaths = {"poll", "option", "user"})
     List<Vote> findByPollId(Long pollId);
+    @EntityGraph(attributePaths = {"poll", "option", "user"})
     List<Vote> findByUser(User user);
     boolean existsByPollAndUser(Poll poll, User user);
+    boolean existsByPollIdAndUserId(Long pollId, Long userId);
     int countByOption(Option option);
+
+    // votos ja gravados entre os pares enquete/usuario informados
+    @Query("SELECT v.poll.id AS pollId, v.user.id AS userId FROM Vote v " +
+            "WHERE v.poll.id IN :pollIds AND v.user.id IN :userIds")
+    List<PollVoter> findVoters(@Param("pollIds") Collection<Long> pollIds,
+                               @Param("userIds") Collection<Long> userIds);
+
+    // todos os votantes das enquetes informadas, para montar o indice em memoria
+    @Query("SELECT v.poll.id AS pollId, v.user.id AS userId FROM Vote v WHERE v.poll.id IN :pollIds")
+    List<PollVoter> findVotersByPollIdIn(@Param("pollIds") Collection<Long> pollIds);
+
+    // enquetes da lista em que o usuario votou, pela unique (user_id, poll_id)
+    @Query("SELECT v.poll.id FROM Vote v WHERE v.user.id = :userId AND v.poll.id IN :pollIds")
+    List<Long> findPollIdsVotedBy(@Param("userId") Long userId,
+                                  @Param("pollIds") Collection<Long> pollIds);
+
+    // projecao direta para DTO, lida em blocos pelo cursor do banco (sem entidades gerenciadas)
+    @Query("SELECT new com.pablorodriguesb.pollhub.dto.VoteResponseDTO(" +
+            "p.id, p.title, o.id, o.text, u.username, v.votedAt) " +
+            "FROM Vote v JOIN v.poll p JOIN v.option o JOIN v.user u " +
+            "WHERE p.id = :pollId ORDER BY v.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<VoteResponseDTO> streamByPollId(@Param("pollId") Long pollId);
 }
@@ -0,0 +1,7 @@
+package com.pablorodriguesb.pollhub.repository;
+
+import java.time.LocalDateTime;
+
+// linha de voto gravada diretamente via JDBC, sem passar pela entidade Vote
+public record VoteRow(Long pollId, Long optionId, Long userId, LocalDateTime votedAt) {
+}
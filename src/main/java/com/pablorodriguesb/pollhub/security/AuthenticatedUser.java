@@ -0,0 +1,36 @@
+package com.pablorodriguesb.pollhub.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+
+// principal autenticado com o id e a versao de token do usuario,
+// montado a partir do banco (login) ou apenas das claims do JWT (modo stateless)
+public class AuthenticatedUser extends User {
+
+    private final Long id;
+    private final int tokenVersion;
+
+    public AuthenticatedUser(Long id, String username, String password,
+                             Collection<? extends GrantedAuthority> authorities,
+                             int tokenVersion) {
+        super(username, password, authorities);
+        this.id = id;
+        this.tokenVersion = tokenVersion;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    // id do principal sem consultar o banco; null para anonimo
+    public static Long idOf(UserDetails principal) {
+        return principal instanceof AuthenticatedUser user ? user.getId() : null;
+    }
+}
@@ -0,0 +1,83 @@
+package com.pablorodriguesb.pollhub.security;
+
+import com.pablorodriguesb.pollhub.exception.ServiceUnavailableException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// roda os hashes de senha em um pool proprio, limitado, para que uma rajada
+// de logins nao ocupe todos os nucleos que atendem o restante do trafego.
+// com as threads ocupadas e a fila cheia, a requisicao recebe 503 na hora,
+// sem ficar parada esperando vaga.
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final String SATURATED = "Muitas autenticações em andamento, tente novamente";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor hashers;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int maxConcurrent, int queueCapacity) {
+        this.delegate = delegate;
+        // fila de ao menos uma posicao: sem ela, a thread que acabou de terminar
+        // um hash e ainda nao voltou a esperar trabalho causaria recusas espurias
+        this.hashers = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), Thread.ofPlatform().name("password-hash-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return bounded(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return bounded(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // so compara o formato do hash, nao passa pelo pool
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    // chamado pelo Spring ao fechar o contexto (metodo de destruicao inferido)
+    public void shutdown() {
+        hashers.shutdownNow();
+    }
+
+    // hashes aguardando uma thread livre
+    int queued() {
+        return hashers.getQueue().size();
+    }
+
+    private <T> T bounded(Supplier<T> hashing) {
+        Future<T> result;
+        try {
+            result = hashers.submit(hashing::get);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException(SATURATED);
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(SATURATED);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
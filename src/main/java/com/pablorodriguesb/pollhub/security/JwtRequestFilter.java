@@ -1,7 +1,9 @@
 package com.pablorodriguesb.pollhub.security;
 
+import com.pablorodriguesb.pollhub.monitoring.RequestTiming;
 import com.pablorodriguesb.pollhub.service.CustomUserDetailsService;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -25,30 +28,39 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     @Autowired
     private JwtTokenUtil jwtTokenUtil;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenVersionCache tokenVersionCache;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws
             ServletException, IOException {
 
+        long start = System.nanoTime();
         final String requestTokenHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwtToken = null;
-
-        System.out.println("Authorization Header: " + request.getHeader("Authorization"));
+        VerifiedToken verified = null;
 
         // o token JWT tem que estar em formato Bearer <token>
         if (requestTokenHeader != null
                 && requestTokenHeader.startsWith("Bearer ")) {
 
-            jwtToken = requestTokenHeader.substring(7);
+            String jwtToken = requestTokenHeader.substring(7);
             try {
-                username = jwtTokenUtil.getUsernameFromToken(jwtToken);
-            } catch (IllegalArgumentException e) {
-                logger.warn("Não foi possível obter o JWT Token");
+                // token repetido vem do cache; senao, unica verificacao de assinatura
+                verified = verifiedTokenCache.get(jwtToken, jwtTokenUtil::verify);
+                request.setAttribute(JwtTokenUtil.VERIFIED_TOKEN_ATTRIBUTE, verified);
             } catch (ExpiredJwtException e) {
                 logger.warn("JWT Token Expirado");
+            } catch (JwtException | IllegalArgumentException e) {
+                logger.warn("Não foi possível obter o JWT Token");
             }
         } else {
             logger.warn("JWT Token não começa com Bearer String");
@@ -56,11 +68,11 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
 
         // se o token for válido, autentica o usuario no contexto spring
-        if (username != null
+        if (verified != null && verified.subject() != null
                 && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = resolvePrincipal(verified);
 
-            if (jwtTokenUtil.validateToken(jwtToken, userDetails)) {
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails, null, userDetails.getAuthorities());
@@ -71,6 +83,47 @@ public class JwtRequestFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
             }
         }
-        filterChain.doFilter(request, response);
+
+        // tempos de autenticacao e do restante da cadeia para o log de acesso
+        RequestTiming timing = RequestTiming.of(request);
+        long authenticated = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (timing != null) {
+                timing.authenticated(authenticated - start);
+                timing.handled(System.nanoTime() - authenticated);
+            }
+        }
+    }
+
+    // no modo stateless o principal vem so do token e a revogacao custa uma
+    // consulta ao cache de versoes; caso contrario usa o cache de principals
+    private UserDetails resolvePrincipal(VerifiedToken verified) {
+        if (jwtTokenUtil.isStateless()) {
+            AuthenticatedUser principal = jwtTokenUtil.getPrincipal(verified);
+            if (principal != null) {
+                return tokenVersionCache.isCurrent(principal.getId(), principal.getTokenVersion())
+                        ? principal : null;
+            }
+        }
+
+        String username = verified.subject();
+        UserDetails userDetails;
+        try {
+            userDetails = principalCache.get(username, userDetailsService::loadUserByUsername);
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+        if (!username.equals(userDetails.getUsername())) {
+            return null;
+        }
+        // tokens com versao antiga foram revogados
+        Integer tokenVersion = verified.tokenVersion();
+        if (tokenVersion != null && userDetails instanceof AuthenticatedUser authenticatedUser
+                && authenticatedUser.getTokenVersion() != tokenVersion) {
+            return null;
+        }
+        return userDetails;
     }
 }
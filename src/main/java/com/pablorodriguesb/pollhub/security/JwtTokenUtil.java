@@ -1,25 +1,57 @@
 package com.pablorodriguesb.pollhub.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.List;
 import java.util.function.Function;
 
 @Component
 public class JwtTokenUtil {
 
-    @Value("${jwt.secret}")
-    private String SECRET_KEY;
+    static final String USER_ID_CLAIM = "uid";
+    static final String TOKEN_VERSION_CLAIM = "ver";
+    static final String ROLE_CLAIM = "role";
+
+    // token ja verificado (VerifiedToken), disponivel para os filtros e controllers na requisicao
+    public static final String VERIFIED_TOKEN_ATTRIBUTE = "pollhub.jwt.token";
 
     private final long JWT_TOKEN_VALIDITY = 5 * 60 * 60 * 1000; // 5h
 
+    // chave e parser sao imutaveis e thread-safe: montados uma unica vez
+    private final Key signingKey;
+    private final JwtParser jwtParser;
+
+    // no modo stateless o token e a unica fonte do principal, entao vive menos
+    private final boolean stateless;
+    private final long statelessValiditySeconds;
+
+    public JwtTokenUtil(@Value("${jwt.secret}") String secretKey,
+                        @Value("${pollhub.security.jwt.stateless:false}") boolean stateless,
+                        @Value("${pollhub.security.jwt.stateless-validity-seconds:900}") long statelessValiditySeconds) {
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.stateless = stateless;
+        this.statelessValiditySeconds = statelessValiditySeconds;
+    }
+
+    public boolean isStateless() {
+        return stateless;
+    }
+
     public String getUsernameFromToken(String token) {
         return getClaimFromToken(token, Claims::getSubject);
     }
@@ -34,35 +66,54 @@ public class JwtTokenUtil {
         return claimsResolver.apply(claims);
     }
 
-    private Claims getAllClaimsFromToken(String token) {
-        Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
+    // verifica assinatura e expiracao; lanca JwtException se o token for invalido
+    @Timed(value = "pollhub.auth.jwt.verify", histogram = true)
+    public Claims getAllClaimsFromToken(String token) {
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
 
-        private Boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
+    // verifica o token e copia apenas os campos usados na autenticacao
+    public VerifiedToken verify(String token) {
+        return VerifiedToken.from(getAllClaimsFromToken(token));
+    }
+
+    private Boolean isTokenExpired(Claims claims) {
+        final Date expiration = claims.getExpiration();
         return expiration.before(new Date());
     }
 
     public String generateToken(UserDetails userDetails, String role) {
-        Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
-        return Jwts.builder()
+        long validity = stateless ? statelessValiditySeconds * 1000 : JWT_TOKEN_VALIDITY;
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(userDetails.getUsername())
-                .claim("role", role)
+                .claim(ROLE_CLAIM, role);
+        // id e versao permitem autenticar sem consultar o usuario no banco
+        if (userDetails instanceof AuthenticatedUser authenticatedUser) {
+            builder.claim(USER_ID_CLAIM, authenticatedUser.getId())
+                    .claim(TOKEN_VERSION_CLAIM, authenticatedUser.getTokenVersion());
+        }
+        return builder
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + JWT_TOKEN_VALIDITY))
-                .signWith(key, SignatureAlgorithm.HS512)
+                .setExpiration(new Date(System.currentTimeMillis() + validity))
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
+    // monta o principal apenas a partir do token; null se nao tiver id/versao
+    public AuthenticatedUser getPrincipal(VerifiedToken token) {
+        if (token.userId() == null || token.tokenVersion() == null || token.role() == null) {
+            return null;
+        }
+        return new AuthenticatedUser(token.userId(), token.subject(), "",
+                List.of(new SimpleGrantedAuthority(token.role())), token.tokenVersion());
+    }
 
+    // uma unica verificacao de assinatura para username e expiracao
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = getUsernameFromToken(token);
-        return (username.equals(userDetails.getUsername())
-                && !isTokenExpired(token));
+        final Claims claims = getAllClaimsFromToken(token);
+        return (claims.getSubject().equals(userDetails.getUsername())
+                && !isTokenExpired(claims));
     }
 }
@@ -0,0 +1,49 @@
+package com.pablorodriguesb.pollhub.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.Function;
+
+// cache limitado e com expiracao dos principals autenticados pelo JWT, para
+// nao consultar o usuario no banco a cada requisicao. a chave e o username
+// do token em minusculas, igual a busca ignore-case do repositorio.
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, UserDetails> cache;
+
+    @Autowired
+    public PrincipalCache(MeterRegistry meterRegistry,
+                          @Value("${pollhub.security.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${pollhub.security.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+    }
+
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        return cache.get(key(username), key -> loader.apply(username));
+    }
+
+    public void evict(String username) {
+        if (username != null) {
+            cache.invalidate(key(username));
+        }
+    }
+
+    private String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,52 @@
+package com.pablorodriguesb.pollhub.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pablorodriguesb.pollhub.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// versao atual do token de cada usuario. um JWT so e aceito se a claim "ver"
+// for igual a versao atual; incrementar a versao revoga todos os tokens emitidos.
+@Component
+public class TokenVersionCache {
+
+    // usuario inexistente: nenhum token e aceito
+    static final int REVOKED = -1;
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Integer> cache;
+
+    @Autowired
+    public TokenVersionCache(UserRepository userRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${pollhub.security.token-version-cache.max-size:10000}") long maxSize,
+                             @Value("${pollhub.security.token-version-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "token-versions");
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        return currentVersion(userId) == tokenVersion;
+    }
+
+    int currentVersion(Long userId) {
+        return cache.get(userId, id -> userRepository.findTokenVersionById(id).orElse(REVOKED));
+    }
+
+    public void evict(Long userId) {
+        if (userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+}
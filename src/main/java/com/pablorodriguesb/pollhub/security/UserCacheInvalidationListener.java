@@ -0,0 +1,44 @@
+package com.pablorodriguesb.pollhub.security;
+
+import com.pablorodriguesb.pollhub.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// remove o principal do cache quando o usuario e alterado (senha, role) ou excluido.
+// instanciado pelo Hibernate via container do Spring; o cache pode nao existir
+// em contextos parciais (ex.: testes de repositorio).
+public class UserCacheInvalidationListener {
+
+    private final ObjectProvider<PrincipalCache> principalCache;
+    private final ObjectProvider<TokenVersionCache> tokenVersionCache;
+
+    public UserCacheInvalidationListener(ObjectProvider<PrincipalCache> principalCache,
+                                         ObjectProvider<TokenVersionCache> tokenVersionCache) {
+        this.principalCache = principalCache;
+        this.tokenVersionCache = tokenVersionCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    void onUserChanged(User user) {
+        String username = user.getUsername();
+        Long userId = user.getId();
+        Runnable evict = () -> {
+            principalCache.ifAvailable(cache -> cache.evict(username));
+            tokenVersionCache.ifAvailable(cache -> cache.evict(userId));
+        };
+        evict.run();
+        // evita que uma leitura concorrente recoloque o estado antigo antes do commit
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        }
+    }
+}
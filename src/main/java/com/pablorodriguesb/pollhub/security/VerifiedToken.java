@@ -0,0 +1,20 @@
+package com.pablorodriguesb.pollhub.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+
+// campos de um token ja verificado. imutavel: a mesma instancia fica no cache e
+// e compartilhada entre requisicoes, ao contrario das Claims do JJWT (um Map mutavel)
+public record VerifiedToken(String subject, Long userId, Integer tokenVersion, String role,
+                            Instant expiresAt) {
+
+    static VerifiedToken from(Claims claims) {
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get(JwtTokenUtil.USER_ID_CLAIM, Long.class),
+                claims.get(JwtTokenUtil.TOKEN_VERSION_CLAIM, Integer.class),
+                claims.get(JwtTokenUtil.ROLE_CLAIM, String.class),
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+    }
+}
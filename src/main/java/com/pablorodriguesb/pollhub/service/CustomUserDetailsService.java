@@ -2,24 +2,29 @@ package com.pablorodriguesb.pollhub.service;
 
 import com.pablorodriguesb.pollhub.model.User;
 import com.pablorodriguesb.pollhub.repository.UserRepository;
+import com.pablorodriguesb.pollhub.security.AuthenticatedUser;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 import java.util.List;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
 
     @Override
+    @Timed(value = "pollhub.auth.load-user", histogram = true)
     public UserDetails loadUserByUsername(String usernameOrEmail) throws UsernameNotFoundException {
         User user = userRepository.findByUsernameIgnoreCase(usernameOrEmail)
                 .or(() -> userRepository.findByEmailIgnoreCase(usernameOrEmail))
@@ -31,10 +36,32 @@ public class CustomUserDetailsService implements UserDetailsService {
                 new SimpleGrantedAuthority(user.getRole())
         );
 
-        return new org.springframework.security.core.userdetails.User(
+        return new AuthenticatedUser(
+                user.getId(),
                 user.getUsername(),
                 user.getPassword(),
-                authorities
+                authorities,
+                user.getTokenVersion()
+        );
+    }
+
+    // chamado pelo DaoAuthenticationProvider apos um login valido quando o hash
+    // gravado usa algoritmo ou custo antigo; a senha ja vem com o hash novo
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsernameIgnoreCase(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException(
+                        "Usuário não encontrado com username ou email: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        userRepository.save(user);
+
+        return new AuthenticatedUser(
+                user.getId(),
+                user.getUsername(),
+                newPassword,
+                userDetails.getAuthorities(),
+                user.getTokenVersion()
         );
     }
 }
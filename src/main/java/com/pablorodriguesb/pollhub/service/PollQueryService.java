@@ -0,0 +1,115 @@
+package com.pablorodriguesb.pollhub.service;
+
+import com.pablorodriguesb.pollhub.dto.PollPageDTO;
+import com.pablorodriguesb.pollhub.dto.PollResponseDTO;
+import com.pablorodriguesb.pollhub.model.Poll;
+import com.pablorodriguesb.pollhub.model.User;
+import com.pablorodriguesb.pollhub.repository.PollRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// modelo de leitura das listagens de enquetes. cada pagina custa duas consultas:
+// os ids pelo indice (createdAt, id) a partir do cursor, e um fetch join com
+// criador e opcoes. as contagens vem da coluna vote_count e o votedByMe do
+// indice de votantes em memoria.
+@Service
+public class PollQueryService {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private final PollRepository pollRepository;
+    private final PollService pollService;
+    private final PollVoterIndex pollVoterIndex;
+
+    @Autowired
+    public PollQueryService(PollRepository pollRepository, PollService pollService,
+                            PollVoterIndex pollVoterIndex) {
+        this.pollRepository = pollRepository;
+        this.pollService = pollService;
+        this.pollVoterIndex = pollVoterIndex;
+    }
+
+    // pagina de enquetes publicas, da mais recente para a mais antiga.
+    // viewerId e o usuario autenticado (ou null) para o votedByMe
+    @Transactional(readOnly = true)
+    public PollPageDTO getPublicPolls(String cursor, int limit, Long viewerId) {
+        int pageSize = clamp(limit);
+        // busca um id a mais para saber se existe proxima pagina
+        Limit fetch = Limit.of(pageSize + 1);
+        List<Long> ids;
+        if (cursor == null || cursor.isBlank()) {
+            ids = pollRepository.findPublicPageIds(fetch);
+        } else {
+            PollCursor after = PollCursor.decode(cursor);
+            ids = pollRepository.findPublicPageIdsAfter(after.createdAt(), after.id(), fetch);
+        }
+        return toPage(ids, pageSize, viewerId);
+    }
+
+    // pagina de enquetes criadas por um usuario
+    @Transactional(readOnly = true)
+    public PollPageDTO getPollsByUser(User user, String cursor, int limit, Long viewerId) {
+        int pageSize = clamp(limit);
+        Limit fetch = Limit.of(pageSize + 1);
+        List<Long> ids;
+        if (cursor == null || cursor.isBlank()) {
+            ids = pollRepository.findPageIdsByCreatedBy(user, fetch);
+        } else {
+            PollCursor after = PollCursor.decode(cursor);
+            ids = pollRepository.findPageIdsByCreatedByAfter(
+                    user, after.createdAt(), after.id(), fetch);
+        }
+        return toPage(ids, pageSize, viewerId);
+    }
+
+    private PollPageDTO toPage(List<Long> ids, int pageSize, Long viewerId) {
+        boolean hasNext = ids.size() > pageSize;
+        List<Long> pageIds = hasNext ? ids.subList(0, pageSize) : ids;
+
+        List<Poll> polls = new ArrayList<>(pageIds.size());
+        if (!pageIds.isEmpty()) {
+            // o fetch join nao preserva a ordem; reordena pelos ids da pagina
+            Map<Long, Poll> byId = pollRepository.findWithDetailsByIdIn(pageIds).stream()
+                    .collect(Collectors.toMap(Poll::getId, Function.identity()));
+            for (Long id : pageIds) {
+                Poll poll = byId.get(id);
+                if (poll != null) {
+                    polls.add(poll);
+                }
+            }
+        }
+
+        List<PollResponseDTO> items = polls.stream()
+                .map(pollService::convertToPollDTO)
+                .collect(Collectors.toList());
+        if (viewerId != null && !items.isEmpty()) {
+            Set<Long> voted = pollVoterIndex.votedPolls(viewerId, pageIds);
+            items.forEach(item -> item.setVotedByMe(voted.contains(item.getId())));
+        }
+
+        PollPageDTO page = new PollPageDTO();
+        page.setItems(items);
+        if (hasNext && !polls.isEmpty()) {
+            Poll last = polls.get(polls.size() - 1);
+            page.setNextCursor(new PollCursor(last.getCreatedAt(), last.getId()).encode());
+        }
+        return page;
+    }
+
+    private int clamp(int limit) {
+        if (limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+}
@@ -1,17 +1,14 @@
 package com.pablorodriguesb.pollhub.service;
 
 import com.pablorodriguesb.pollhub.dto.OptionDTO;
-import com.pablorodriguesb.pollhub.dto.OptionResultDTO;
 import com.pablorodriguesb.pollhub.dto.PollResponseDTO;
 import com.pablorodriguesb.pollhub.dto.PollResultDTO;
-import com.pablorodriguesb.pollhub.exception.BadRequestException;
 import com.pablorodriguesb.pollhub.exception.ResourceNotFoundException;
 import com.pablorodriguesb.pollhub.model.Option;
 import com.pablorodriguesb.pollhub.model.Poll;
 import com.pablorodriguesb.pollhub.model.User;
-import com.pablorodriguesb.pollhub.model.Vote;
 import com.pablorodriguesb.pollhub.repository.PollRepository;
-import com.pablorodriguesb.pollhub.repository.VoteRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -24,12 +21,16 @@ import java.util.stream.Collectors;
 public class PollService {
 
     private final PollRepository pollRepository;
-    private final VoteRepository voteRepository;
+    private final VoteTallyService voteTallyService;
+    private final PollVoterIndex pollVoterIndex;
 
     @Autowired
-    public PollService(PollRepository pollRepository, VoteRepository voteRepository) {
+    public PollService(PollRepository pollRepository,
+                       VoteTallyService voteTallyService,
+                       PollVoterIndex pollVoterIndex) {
         this.pollRepository = pollRepository;
-        this.voteRepository = voteRepository;
+        this.voteTallyService = voteTallyService;
+        this.pollVoterIndex = pollVoterIndex;
     }
 
     // cria uma nova enquete, associando ao usuario criador e registrando data e hora.
@@ -49,6 +50,8 @@ public class PollService {
 
         // exclui a enquete (o JPA cuidara das dependências devido ao cascade)
         pollRepository.deleteById(pollId);
+        voteTallyService.evict(pollId);
+        pollVoterIndex.evict(pollId);
     }
 
     // retorna as enquetes públicas.
@@ -66,55 +69,13 @@ public class PollService {
             return pollRepository.findById(id);
     }
 
-    public void vote(Long pollId, Long optionId, User voter) {
-        Poll poll = pollRepository.findById(pollId)
-                .orElseThrow(() -> new ResourceNotFoundException("Enquete" +
-                        "não encontrada"));
-
-        Option option = poll.getOptions().stream()
-                .filter(o -> o.getId().equals(optionId))
-                .findFirst()
-                .orElseThrow(() -> new ResourceNotFoundException("Opcão " +
-                        "não encontrada"));
-
-        if (voteRepository.existsByPollAndUser(poll, voter)) {
-            throw new BadRequestException("Você já votou nesta enquete");
-        }
-
-        Vote vote = new Vote();
-        vote.setPoll(poll);
-        vote.setOption(option);
-        vote.setUser(voter);
-        vote.setVotedAt(LocalDateTime.now());
-
-        voteRepository.save(vote);
-    }
-
+    // resultados servidos pela contagem em memoria, sem consultar o banco a cada chamada
+    @Timed(value = "pollhub.results.get", histogram = true)
     public PollResultDTO getResults(Long pollId) {
-        Poll poll = pollRepository.findById(pollId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Enquete não encontrada"));
-
-        List<OptionResultDTO> results = poll.getOptions().stream()
-                .map(option -> {
-                    int votes = voteRepository.countByOption(option);
-
-                    OptionResultDTO dto = new OptionResultDTO();
-                    dto.setOptionId(option.getId());
-                    dto.setText(option.getText());
-                    dto.setVotes(votes);
-                    return dto;
-                })
-                .collect(Collectors.toList());
-
-        PollResultDTO pollResultDTO = new PollResultDTO();
-        pollResultDTO.setPollId(poll.getId());
-        pollResultDTO.setTitle(poll.getTitle());
-        pollResultDTO.setDescription(poll.getDescription());
-        pollResultDTO.setResults(results);
-        return pollResultDTO;
+        return voteTallyService.getResults(pollId);
     }
 
+    @Timed(value = "pollhub.polls.convert", histogram = true)
     public PollResponseDTO convertToPollDTO(Poll poll) {
         PollResponseDTO dto = new PollResponseDTO();
         dto.setId(poll.getId());
@@ -124,12 +85,12 @@ public class PollService {
         dto.setCreatedAt(poll.getCreatedAt());
         dto.setCreatedBy(poll.getCreatedBy().getUsername());
 
-        // Mapeamento das opções com contagem real
+        // Mapeamento das opções com a contagem denormalizada
         dto.setOptions(poll.getOptions().stream().map(option -> {
             OptionDTO optionDTO = new OptionDTO();
             optionDTO.setId(option.getId());
             optionDTO.setText(option.getText());
-            optionDTO.setVoteCount(voteRepository.countByOption(option)); // Contagem dinâmica
+            optionDTO.setVoteCount(option.getVoteCount());
             return optionDTO;
         }).collect(Collectors.toList()));
 
@@ -0,0 +1,191 @@
+package com.pablorodriguesb.pollhub.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pablorodriguesb.pollhub.event.VoteCastEvent;
+import com.pablorodriguesb.pollhub.repository.PollVoter;
+import com.pablorodriguesb.pollhub.repository.VoteRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// indice em memoria de quem ja votou em cada enquete: um bitmap compactado
+// (roaring) com os ids dos votantes. enquetes quentes respondem sem consulta;
+// as frias sao respondidas por uma consulta pontual do usuario e carregadas em
+// segundo plano, no maximo uma carga por enquete e por um pool limitado.
+// depois disso o bitmap e mantido pelos votos confirmados.
+@Service
+public class PollVoterIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PollVoterIndex.class);
+
+    private final VoteRepository voteRepository;
+    private final Executor loader;
+    private final Cache<Long, VoterSet> voters;
+
+    @Autowired
+    public PollVoterIndex(VoteRepository voteRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${pollhub.votes.voter-index.max-polls:10000}") long maxPolls,
+                          @Value("${pollhub.votes.voter-index.loader-threads:2}") int loaderThreads,
+                          @Value("${pollhub.votes.voter-index.loader-queue-capacity:1000}") int loaderQueueCapacity) {
+        // poucas threads seguram a carga no banco; com a fila cheia a carga e
+        // adiada e a enquete continua respondida pela consulta pontual
+        this(voteRepository, meterRegistry, maxPolls, new ThreadPoolExecutor(
+                loaderThreads, loaderThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(loaderQueueCapacity),
+                Thread.ofPlatform().name("voter-index-loader-", 0).daemon(true).factory()));
+    }
+
+    PollVoterIndex(VoteRepository voteRepository, MeterRegistry meterRegistry,
+                   long maxPolls, Executor loader) {
+        this.voteRepository = voteRepository;
+        this.loader = loader;
+        this.voters = Caffeine.newBuilder()
+                .maximumSize(maxPolls)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, voters, "poll-voters");
+    }
+
+    // enquetes da lista em que o usuario ja votou
+    public Set<Long> votedPolls(Long userId, Collection<Long> pollIds) {
+        Set<Long> voted = new HashSet<>();
+        List<Long> cold = new ArrayList<>();
+        for (Long pollId : pollIds) {
+            VoterSet set = voters.getIfPresent(pollId);
+            if (set == null || !set.loaded) {
+                cold.add(pollId);
+            } else if (set.contains(userId)) {
+                voted.add(pollId);
+            }
+        }
+
+        if (!cold.isEmpty()) {
+            // uma consulta para todas as enquetes frias da pagina, e nao uma por enquete
+            voted.addAll(voteRepository.findPollIdsVotedBy(userId, cold));
+            // enquetes que ja tem carga em andamento ficam de fora
+            Map<Long, VoterSet> claimed = claim(cold);
+            if (!claimed.isEmpty()) {
+                try {
+                    loader.execute(() -> fill(claimed));
+                } catch (RejectedExecutionException e) {
+                    claimed.values().forEach(VoterSet::release);
+                }
+            }
+        }
+        return voted;
+    }
+
+    // marca o votante somente depois do commit do voto
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVoteCast(VoteCastEvent event) {
+        VoterSet set = voters.getIfPresent(event.pollId());
+        if (set != null) {
+            set.add(event.userId());
+        }
+    }
+
+    // descarta o indice da enquete (enquete excluida)
+    public void evict(Long pollId) {
+        voters.invalidate(pollId);
+    }
+
+    void load(Collection<Long> pollIds) {
+        fill(claim(pollIds));
+    }
+
+    // o conjunto entra no cache antes da consulta: votos confirmados durante a
+    // carga ja sao registrados nele, e so depois ele passa a responder.
+    // devolve so as enquetes cuja carga ficou com quem chamou
+    private Map<Long, VoterSet> claim(Collection<Long> pollIds) {
+        Map<Long, VoterSet> claimed = new HashMap<>();
+        for (Long pollId : pollIds) {
+            VoterSet set = voters.get(pollId, id -> new VoterSet());
+            if (set.claim()) {
+                claimed.put(pollId, set);
+            }
+        }
+        return claimed;
+    }
+
+    private void fill(Map<Long, VoterSet> loading) {
+        if (loading.isEmpty()) {
+            return;
+        }
+
+        try {
+            for (PollVoter voter : voteRepository.findVotersByPollIdIn(loading.keySet())) {
+                loading.get(voter.getPollId()).add(voter.getUserId());
+            }
+            loading.values().forEach(VoterSet::markLoaded);
+        } catch (RuntimeException e) {
+            // continuam frios; a proxima leitura tenta carregar de novo
+            loading.values().forEach(VoterSet::release);
+            log.warn("Falha ao carregar votantes das enquetes {}", loading.keySet(), e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (loader instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    boolean isLoaded(Long pollId) {
+        VoterSet set = voters.getIfPresent(pollId);
+        return set != null && set.loaded;
+    }
+
+    // o bitmap nao e thread-safe; leituras e escritas sincronizam no proprio conjunto
+    private static final class VoterSet {
+
+        private final Roaring64Bitmap bitmap = new Roaring64Bitmap();
+        // carga em andamento ou concluida
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private volatile boolean loaded;
+
+        synchronized void add(long userId) {
+            bitmap.addLong(userId);
+        }
+
+        synchronized boolean contains(long userId) {
+            return bitmap.contains(userId);
+        }
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        void release() {
+            claimed.set(false);
+        }
+
+        void markLoaded() {
+            loaded = true;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.pablorodriguesb.pollhub.service;
+
+import com.pablorodriguesb.pollhub.dto.PollResultsUpdateDTO;
+import com.pablorodriguesb.pollhub.event.PollResultsUpdatedEvent;
+import com.pablorodriguesb.pollhub.event.VoteCastEvent;
+import com.pablorodriguesb.pollhub.exception.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// agrega os votos confirmados por enquete e publica uma unica atualizacao
+// por enquete a cada janela, em vez de uma mensagem por voto. enquetes sem
+// assinante (STOMP ou SSE) nao tem os resultados recalculados.
+@Service
+public class ResultsPushCoalescer {
+
+    private final VoteTallyService voteTallyService;
+    private final StompResultsSubscriptions stompSubscriptions;
+    private final ResultsStreamService resultsStreamService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // pollId -> (optionId -> votos na janela atual)
+    private final ConcurrentHashMap<Long, Map<Long, Long>> pending = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ResultsPushCoalescer(VoteTallyService voteTallyService,
+                                StompResultsSubscriptions stompSubscriptions,
+                                ResultsStreamService resultsStreamService,
+                                ApplicationEventPublisher eventPublisher) {
+        this.voteTallyService = voteTallyService;
+        this.stompSubscriptions = stompSubscriptions;
+        this.resultsStreamService = resultsStreamService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVoteCast(VoteCastEvent event) {
+        // compute e atomico por chave, entao o mapa interno nao precisa ser concorrente
+        pending.compute(event.pollId(), (pollId, deltas) -> {
+            Map<Long, Long> current = deltas != null ? deltas : new HashMap<>();
+            current.merge(event.optionId(), 1L, Long::sum);
+            return current;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${pollhub.results.push-window-ms:100}")
+    public void flush() {
+        for (Long pollId : pending.keySet()) {
+            Map<Long, Long> deltas = pending.remove(pollId);
+            if (deltas == null || !hasSubscribers(pollId)) {
+                continue;
+            }
+            publish(pollId, deltas);
+        }
+    }
+
+    private boolean hasSubscribers(Long pollId) {
+        return stompSubscriptions.hasSubscribers(pollId) || resultsStreamService.subscriberCount(pollId) > 0;
+    }
+
+    private void publish(Long pollId, Map<Long, Long> deltas) {
+        VoteTallyService.VersionedResults results;
+        boolean publicPoll;
+        try {
+            results = voteTallyService.getVersionedResults(pollId);
+            publicPoll = voteTallyService.isPublic(pollId);
+        } catch (ResourceNotFoundException e) {
+            // enquete excluida durante a janela
+            return;
+        }
+
+        PollResultsUpdateDTO update = new PollResultsUpdateDTO();
+        update.setPollId(pollId);
+        update.setDeltas(Map.copyOf(deltas));
+        update.setResults(results.results().getResults());
+        eventPublisher.publishEvent(new PollResultsUpdatedEvent(update, publicPoll, results.version()));
+    }
+}
@@ -0,0 +1,195 @@
+package com.pablorodriguesb.pollhub.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pablorodriguesb.pollhub.event.PollResultsUpdatedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// streams SSE de resultados: um publicador compartilhado por enquete atende
+// todos os assinantes dela. os dados vem do VoteTallyService (memoria), entao
+// abrir uma conexao nao gera consulta ao banco depois que a enquete foi carregada.
+@Service
+public class ResultsStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(ResultsStreamService.class);
+
+    static final String RESULTS_EVENT = "results";
+
+    private final VoteTallyService voteTallyService;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMs;
+
+    private final ConcurrentHashMap<Long, PollPublisher> publishers = new ConcurrentHashMap<>();
+    // o envio para os assinantes roda em virtual threads, fora do agendador
+    private final Executor fanOut;
+
+    @Autowired
+    public ResultsStreamService(VoteTallyService voteTallyService,
+                                ObjectMapper objectMapper,
+                                @Value("${pollhub.results.stream-timeout-ms:1800000}") long timeoutMs) {
+        this(voteTallyService, objectMapper, timeoutMs, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    ResultsStreamService(VoteTallyService voteTallyService,
+                         ObjectMapper objectMapper,
+                         long timeoutMs,
+                         Executor fanOut) {
+        this.voteTallyService = voteTallyService;
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeoutMs;
+        this.fanOut = fanOut;
+    }
+
+    public SseEmitter subscribe(Long pollId, String username) {
+        if (!voteTallyService.canView(pollId, username)) {
+            throw new AccessDeniedException(username == null
+                    ? "Acesso negado: autenticação necessária"
+                    : "Acesso negado: você não é o criador desta enquete");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        emitter.onCompletion(() -> remove(pollId, emitter));
+        emitter.onTimeout(() -> remove(pollId, emitter));
+        emitter.onError(e -> remove(pollId, emitter));
+
+        // o snapshot sai com o lock do assinante: atualizacoes que chegarem nesse
+        // meio tempo esperam e so passam se forem mais novas que ele
+        Subscriber subscriber = new Subscriber(emitter);
+        subscriber.lock.lock();
+        try {
+            publishers.compute(pollId, (id, publisher) -> {
+                PollPublisher current = publisher != null ? publisher : new PollPublisher();
+                current.subscribers.add(subscriber);
+                return current;
+            });
+
+            // snapshot inicial; as proximas mensagens trazem deltas e totais
+            VoteTallyService.VersionedResults snapshot = voteTallyService.getVersionedResults(pollId);
+            subscriber.lastSent = snapshot.version();
+            emitter.send(SseEmitter.event().name(RESULTS_EVENT).data(snapshot.results()));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        } catch (RuntimeException e) {
+            remove(pollId, emitter);
+            throw e;
+        } finally {
+            subscriber.lock.unlock();
+        }
+        return emitter;
+    }
+
+    @EventListener
+    public void onResultsUpdated(PollResultsUpdatedEvent event) {
+        Long pollId = event.update().getPollId();
+        PollPublisher publisher = publishers.get(pollId);
+        if (publisher == null) {
+            return;
+        }
+
+        // serializa uma vez por enquete, nao uma vez por assinante
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event.update());
+        } catch (JsonProcessingException e) {
+            log.error("Falha ao serializar resultados da enquete {}", pollId, e);
+            return;
+        }
+        // uma tarefa por assinante: um cliente lento atrasa so as proprias mensagens
+        for (Subscriber subscriber : publisher.subscribers) {
+            fanOut.execute(() -> subscriber.send(pollId, event.version(),
+                    () -> SseEmitter.event().name(RESULTS_EVENT).data(payload)));
+        }
+    }
+
+    // comentario periodico mantem proxies abertos e detecta conexoes mortas
+    @Scheduled(fixedDelayString = "${pollhub.results.stream-heartbeat-ms:15000}")
+    public void heartbeat() {
+        publishers.forEach((pollId, publisher) -> {
+            for (Subscriber subscriber : publisher.subscribers) {
+                fanOut.execute(() -> subscriber.send(pollId, null,
+                        () -> SseEmitter.event().comment("ping")));
+            }
+        });
+    }
+
+    int subscriberCount(Long pollId) {
+        PollPublisher publisher = publishers.get(pollId);
+        return publisher != null ? publisher.subscribers.size() : 0;
+    }
+
+    // remove o assinante e descarta o publicador da enquete quando ficar ocioso
+    void remove(Long pollId, SseEmitter emitter) {
+        publishers.computeIfPresent(pollId, (id, publisher) -> {
+            publisher.subscribers.removeIf(subscriber -> subscriber.emitter == emitter);
+            return publisher.subscribers.isEmpty() ? null : publisher;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (fanOut instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+        publishers.values().forEach(publisher ->
+                publisher.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        publishers.clear();
+    }
+
+    private static final class PollPublisher {
+
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        // lock justo: as mensagens do assinante saem na ordem em que pediram o lock
+        private final ReentrantLock lock = new ReentrantLock(true);
+        // versao do ultimo resultado enviado; protegida pelo lock
+        private ResultsVersion lastSent;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // version nulo envia sempre (heartbeat); senao descarta o que for mais velho
+        // que o ultimo envio, como deltas ja incluidos no snapshot inicial.
+        // o builder acumula o texto ao ser montado, por isso um novo por envio
+        void send(Long pollId, ResultsVersion version, Supplier<SseEmitter.SseEventBuilder> event) {
+            lock.lock();
+            try {
+                if (version != null && !version.isNewerThan(lastSent)) {
+                    return;
+                }
+                emitter.send(event.get());
+                if (version != null) {
+                    lastSent = version;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // cliente desconectado; o onError/onCompletion pode nao disparar
+                remove(pollId, emitter);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.pablorodriguesb.pollhub.service;
+
+// posicao dos resultados de uma enquete no VoteTallyService: a geracao muda a
+// cada recarga da contagem e a sequencia a cada voto somado depois dela
+public record ResultsVersion(long generation, long sequence) {
+
+    public boolean isNewerThan(ResultsVersion other) {
+        return other == null
+                || generation > other.generation
+                || (generation == other.generation && sequence > other.sequence);
+    }
+}
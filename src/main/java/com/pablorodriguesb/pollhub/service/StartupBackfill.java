@@ -0,0 +1,37 @@
+package com.pablorodriguesb.pollhub.service;
+
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+
+// correcao de dados que precisa terminar antes da primeira requisicao. roda
+// numa fase anterior a do WebServerStartStopLifecycle, que so abre o conector
+// do Tomcat depois; se falhar, a aplicacao nao sobe
+public abstract class StartupBackfill implements SmartLifecycle {
+
+    static final int PHASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+
+    private volatile boolean running;
+
+    public abstract void backfill();
+
+    @Override
+    public void start() {
+        backfill();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
@@ -0,0 +1,29 @@
+package com.pablorodriguesb.pollhub.service;
+
+import com.pablorodriguesb.pollhub.event.PollResultsUpdatedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+// envia as atualizacoes agregadas para /topic/polls/{id}/results.
+// o canal nao e autenticado, por isso so enquetes publicas sao transmitidas.
+@Service
+public class StompResultsBroadcaster {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    public StompResultsBroadcaster(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @EventListener
+    public void onResultsUpdated(PollResultsUpdatedEvent event) {
+        if (!event.publicPoll()) {
+            return;
+        }
+        Long pollId = event.update().getPollId();
+        messagingTemplate.convertAndSend("/topic/polls/" + pollId + "/results", event.update());
+    }
+}
@@ -0,0 +1,86 @@
+package com.pablorodriguesb.pollhub.service;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// conta as assinaturas STOMP de /topic/polls/{id}/results por enquete, para o
+// agregador nao recalcular resultados de enquetes que ninguem acompanha
+@Service
+public class StompResultsSubscriptions {
+
+    private static final Pattern RESULTS_TOPIC = Pattern.compile("^/topic/polls/(\\d+)/results$");
+
+    // sessao -> (id da assinatura -> enquete)
+    private final ConcurrentHashMap<String, Map<String, Long>> subscriptionsBySession = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Integer> subscribersByPoll = new ConcurrentHashMap<>();
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Long pollId = pollIdOf(accessor.getDestination());
+        String subscriptionId = accessor.getSubscriptionId();
+        if (pollId == null || accessor.getSessionId() == null || subscriptionId == null) {
+            return;
+        }
+        subscriptionsBySession.compute(accessor.getSessionId(), (sessionId, subscriptions) -> {
+            Map<String, Long> current = subscriptions != null ? subscriptions : new HashMap<>();
+            Long previous = current.put(subscriptionId, pollId);
+            if (previous != null) {
+                decrement(previous);
+            }
+            subscribersByPoll.merge(pollId, 1, Integer::sum);
+            return current;
+        });
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String subscriptionId = accessor.getSubscriptionId();
+        if (accessor.getSessionId() == null || subscriptionId == null) {
+            return;
+        }
+        subscriptionsBySession.computeIfPresent(accessor.getSessionId(), (sessionId, subscriptions) -> {
+            Long pollId = subscriptions.remove(subscriptionId);
+            if (pollId != null) {
+                decrement(pollId);
+            }
+            return subscriptions.isEmpty() ? null : subscriptions;
+        });
+    }
+
+    // conexao encerrada sem UNSUBSCRIBE: descarta todas as assinaturas da sessao
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, Long> subscriptions = subscriptionsBySession.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::decrement);
+        }
+    }
+
+    public boolean hasSubscribers(Long pollId) {
+        return subscribersByPoll.containsKey(pollId);
+    }
+
+    private void decrement(Long pollId) {
+        subscribersByPoll.computeIfPresent(pollId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private static Long pollIdOf(String destination) {
+        if (destination == null) {
+            return null;
+        }
+        Matcher matcher = RESULTS_TOPIC.matcher(destination);
+        return matcher.matches() ? Long.valueOf(matcher.group(1)) : null;
+    }
+}
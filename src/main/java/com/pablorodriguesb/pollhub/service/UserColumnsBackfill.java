@@ -0,0 +1,36 @@
+package com.pablorodriguesb.pollhub.service;
+
+import com.pablorodriguesb.pollhub.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// na subida, antes de aceitar requisicoes, preenche username_lower/email_lower
+// de usuarios antigos; sem isso eles nao fazem login pelas buscas IgnoreCase.
+// depois da primeira execucao o update nao encontra linhas.
+@Service
+public class UserColumnsBackfill extends StartupBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(UserColumnsBackfill.class);
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public UserColumnsBackfill(UserRepository userRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void backfill() {
+        Integer updated = transactionTemplate.execute(status -> userRepository.backfillLowercaseColumns());
+        if (updated != null && updated > 0) {
+            log.info("Colunas normalizadas preenchidas para {} usuários", updated);
+        }
+    }
+}
@@ -2,19 +2,29 @@ package com.pablorodriguesb.pollhub.service;
 
 import com.pablorodriguesb.pollhub.dto.UserDTO;
 import com.pablorodriguesb.pollhub.dto.UserResponseDTO;
+import com.pablorodriguesb.pollhub.exception.BadRequestException;
+import com.pablorodriguesb.pollhub.exception.ResourceNotFoundException;
 import com.pablorodriguesb.pollhub.exception.UserAlreadyExistsException;
 import com.pablorodriguesb.pollhub.model.User;
 import com.pablorodriguesb.pollhub.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class UserService {
 
+    // papeis que um ADMIN pode atribuir pela API
+    private static final Set<String> ASSIGNABLE_ROLES = Set.of("ROLE_USER", "ROLE_KIOSK");
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
 
@@ -38,16 +48,6 @@ public class UserService {
             throw new IllegalArgumentException("O username não pode ser vazio.");
         }
 
-        // verificando se o email ja tem cadastro
-        if (userRepository.existsByEmailIgnoreCase(user.getEmail())) {
-            throw new UserAlreadyExistsException("Email já está em uso.");
-        }
-
-        // verifica se o username ja tem cadastro
-        if (userRepository.existsByUsernameIgnoreCase(user.getUsername())) {
-            throw new UserAlreadyExistsException("Nome de usuário já está em uso.");
-        }
-
         // verifica vazio ou nulo ao codificar senha
         if (user.getPassword() == null || user.getPassword().isBlank()) {
             throw new IllegalArgumentException("A senha não pode ser vazia.");
@@ -59,7 +59,60 @@ public class UserService {
         // registrando data/hora do cadastro
         user.setDataCadastro(LocalDateTime.now());
 
-        return userRepository.save(user);
+        // um unico insert: email ou username repetido (ignore-case) e barrado
+        // pelos indices unicos das colunas normalizadas
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new UserAlreadyExistsException(duplicateMessage(e, user));
+        }
+    }
+
+    private String duplicateMessage(DataIntegrityViolationException e, User user) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName() : null;
+        if (constraint != null) {
+            String name = constraint.toLowerCase(Locale.ROOT);
+            if (name.contains(User.UK_EMAIL_LOWER)) {
+                return "Email já está em uso.";
+            }
+            if (name.contains(User.UK_USERNAME_LOWER)) {
+                return "Nome de usuário já está em uso.";
+            }
+        }
+        // restricao sem nome conhecido: consulta so no caminho de erro
+        return userRepository.existsByEmailIgnoreCase(user.getEmail())
+                ? "Email já está em uso."
+                : "Nome de usuário já está em uso.";
+    }
+
+    // incrementa a versao de token do usuario, invalidando todos os JWT emitidos
+    @Transactional
+    public void revokeTokens(String username) {
+        User user = userRepository.findByUsernameIgnoreCase(username)
+                .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        userRepository.save(user);
+    }
+
+    // troca o papel do usuario; os tokens emitidos com o papel antigo deixam de valer
+    @Transactional
+    public void changeRole(String username, String role) {
+        String normalized = role.trim().toUpperCase(Locale.ROOT);
+        if (!normalized.startsWith("ROLE_")) {
+            normalized = "ROLE_" + normalized;
+        }
+        if (!ASSIGNABLE_ROLES.contains(normalized)) {
+            throw new BadRequestException("Papel inválido: use USER ou KIOSK");
+        }
+        User user = userRepository.findByUsernameIgnoreCase(username)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
+        if ("ROLE_ADMIN".equals(user.getRole())) {
+            throw new BadRequestException("O papel de um administrador não é alterado pela API");
+        }
+        user.setRole(normalized);
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        userRepository.save(user);
     }
 
     // busca usuario pelo username
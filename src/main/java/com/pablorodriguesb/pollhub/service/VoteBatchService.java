@@ -0,0 +1,210 @@
+package com.pablorodriguesb.pollhub.service;
+
+import com.pablorodriguesb.pollhub.dto.VoteBatchEntryDTO;
+import com.pablorodriguesb.pollhub.dto.VoteBatchResponseDTO;
+import com.pablorodriguesb.pollhub.dto.VoteBatchResultDTO;
+import com.pablorodriguesb.pollhub.dto.VoteBatchStatus;
+import com.pablorodriguesb.pollhub.exception.BadRequestException;
+import com.pablorodriguesb.pollhub.repository.OptionPoll;
+import com.pablorodriguesb.pollhub.repository.OptionRepository;
+import com.pablorodriguesb.pollhub.repository.PollVoter;
+import com.pablorodriguesb.pollhub.repository.UserRepository;
+import com.pablorodriguesb.pollhub.repository.VoteRepository;
+import com.pablorodriguesb.pollhub.repository.VoteRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// recebe lotes de votos de quiosques e clientes offline. a validacao e feita
+// com poucas consultas por conjunto (e nao uma por voto) e a gravacao usa o
+// mesmo VoteBatchWriter do modo write-behind.
+@Service
+public class VoteBatchService {
+
+    // limite de parametros por IN (...) para nao estourar o driver
+    private static final int LOOKUP_CHUNK = 1000;
+
+    private final VoteRepository voteRepository;
+    private final OptionRepository optionRepository;
+    private final UserRepository userRepository;
+    private final VoteBatchWriter voteBatchWriter;
+    private final Counter duplicateVotes;
+
+    private final int maxEntries;
+    private final int insertChunk;
+    private final Duration maxVotedAtSkew;
+
+    @Autowired
+    public VoteBatchService(VoteRepository voteRepository,
+                            OptionRepository optionRepository,
+                            UserRepository userRepository,
+                            VoteBatchWriter voteBatchWriter,
+                            MeterRegistry meterRegistry,
+                            @Value("${pollhub.votes.batch.max-entries:10000}") int maxEntries,
+                            @Value("${pollhub.votes.batch.insert-chunk:500}") int insertChunk,
+                            @Value("${pollhub.votes.batch.max-voted-at-skew-seconds:300}") long maxVotedAtSkewSeconds) {
+        this.voteRepository = voteRepository;
+        this.optionRepository = optionRepository;
+        this.userRepository = userRepository;
+        this.voteBatchWriter = voteBatchWriter;
+        // mesmo contador do voto sincrono (VoteService)
+        this.duplicateVotes = Counter.builder("pollhub.votes.rejected")
+                .tag("reason", "duplicate")
+                .description("Votos recusados porque o usuario ja votou na enquete")
+                .register(meterRegistry);
+        this.maxEntries = maxEntries;
+        this.insertChunk = insertChunk;
+        this.maxVotedAtSkew = Duration.ofSeconds(maxVotedAtSkewSeconds);
+    }
+
+    public VoteBatchResponseDTO submit(List<VoteBatchEntryDTO> entries) {
+        if (entries == null || entries.isEmpty()) {
+            throw new BadRequestException("O lote deve conter ao menos um voto");
+        }
+        if (entries.size() > maxEntries) {
+            throw new BadRequestException("O lote excede o limite de " + maxEntries + " votos");
+        }
+
+        VoteBatchStatus[] statuses = new VoteBatchStatus[entries.size()];
+
+        // campos obrigatorios
+        Set<Long> optionIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (int i = 0; i < entries.size(); i++) {
+            VoteBatchEntryDTO entry = entries.get(i);
+            if (entry == null || entry.getPollId() == null
+                    || entry.getOptionId() == null || entry.getUserId() == null) {
+                statuses[i] = VoteBatchStatus.INVALID;
+                continue;
+            }
+            optionIds.add(entry.getOptionId());
+            userIds.add(entry.getUserId());
+        }
+
+        // opcao -> enquete e usuarios existentes, uma consulta por bloco de ids
+        Map<Long, Long> pollByOption = new HashMap<>();
+        for (List<Long> chunk : chunks(optionIds)) {
+            for (OptionPoll optionPoll : optionRepository.findPollIdsByIdIn(chunk)) {
+                pollByOption.put(optionPoll.getOptionId(), optionPoll.getPollId());
+            }
+        }
+        Set<Long> knownUsers = new HashSet<>();
+        for (List<Long> chunk : chunks(userIds)) {
+            knownUsers.addAll(userRepository.findExistingIds(chunk));
+        }
+
+        Set<Long> pollIds = new HashSet<>();
+        Set<Long> voterIds = new HashSet<>();
+        for (int i = 0; i < entries.size(); i++) {
+            if (statuses[i] != null) {
+                continue;
+            }
+            VoteBatchEntryDTO entry = entries.get(i);
+            if (!entry.getPollId().equals(pollByOption.get(entry.getOptionId()))
+                    || !knownUsers.contains(entry.getUserId())) {
+                statuses[i] = VoteBatchStatus.INVALID;
+                continue;
+            }
+            pollIds.add(entry.getPollId());
+            voterIds.add(entry.getUserId());
+        }
+
+        // votos ja gravados para os pares enquete/usuario do lote
+        Set<VoteKey> voted = new HashSet<>();
+        for (List<Long> pollChunk : chunks(pollIds)) {
+            for (List<Long> userChunk : chunks(voterIds)) {
+                for (PollVoter voter : voteRepository.findVoters(pollChunk, userChunk)) {
+                    voted.add(new VoteKey(voter.getPollId(), voter.getUserId()));
+                }
+            }
+        }
+
+        // o primeiro voto de cada par vence; os demais, no banco ou no lote, sao duplicados
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime earliestVotedAt = now.minus(maxVotedAtSkew);
+        List<VoteRow> rows = new ArrayList<>();
+        List<Integer> rowIndexes = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            if (statuses[i] != null) {
+                continue;
+            }
+            VoteBatchEntryDTO entry = entries.get(i);
+            if (!voted.add(new VoteKey(entry.getPollId(), entry.getUserId()))) {
+                statuses[i] = VoteBatchStatus.DUPLICATE;
+                continue;
+            }
+            // o horario do cliente so vale dentro da janela de tolerancia de relogio;
+            // fora dela (ou ausente) vale o horario do servidor
+            LocalDateTime votedAt = entry.getVotedAt() != null
+                    && !entry.getVotedAt().isBefore(earliestVotedAt) && entry.getVotedAt().isBefore(now)
+                    ? entry.getVotedAt() : now;
+            rows.add(new VoteRow(entry.getPollId(), entry.getOptionId(), entry.getUserId(), votedAt));
+            rowIndexes.add(i);
+        }
+
+        for (int from = 0; from < rows.size(); from += insertChunk) {
+            int to = Math.min(from + insertChunk, rows.size());
+            write(rows.subList(from, to), rowIndexes.subList(from, to), statuses);
+        }
+
+        return toResponse(statuses);
+    }
+
+    // se outro voto chegou entre a validacao e o insert, o escritor isola a colisao
+    private void write(List<VoteRow> rows, List<Integer> indexes, VoteBatchStatus[] statuses) {
+        VoteBatchWriter.WriteResult result = voteBatchWriter.write(rows);
+        indexes.forEach(i -> statuses[i] = VoteBatchStatus.ACCEPTED);
+        for (int j : result.duplicates()) {
+            statuses[indexes.get(j)] = VoteBatchStatus.DUPLICATE;
+        }
+        // opcao ou usuario removido entre a validacao e o insert
+        for (int j : result.rejected()) {
+            statuses[indexes.get(j)] = VoteBatchStatus.INVALID;
+        }
+    }
+
+    private VoteBatchResponseDTO toResponse(VoteBatchStatus[] statuses) {
+        VoteBatchResponseDTO response = new VoteBatchResponseDTO();
+        List<VoteBatchResultDTO> results = new ArrayList<>(statuses.length);
+        int accepted = 0;
+        int duplicates = 0;
+        int invalid = 0;
+        for (int i = 0; i < statuses.length; i++) {
+            switch (statuses[i]) {
+                case ACCEPTED -> accepted++;
+                case DUPLICATE -> duplicates++;
+                case INVALID -> invalid++;
+            }
+            results.add(new VoteBatchResultDTO(i, statuses[i]));
+        }
+        duplicateVotes.increment(duplicates);
+        response.setAccepted(accepted);
+        response.setDuplicates(duplicates);
+        response.setInvalid(invalid);
+        response.setResults(results);
+        return response;
+    }
+
+    private static List<List<Long>> chunks(Set<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += LOOKUP_CHUNK) {
+            chunks.add(all.subList(from, Math.min(from + LOOKUP_CHUNK, all.size())));
+        }
+        return chunks;
+    }
+
+    private record VoteKey(Long pollId, Long userId) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.pablorodriguesb.pollhub.service;
+
+import com.pablorodriguesb.pollhub.event.VoteCastEvent;
+import com.pablorodriguesb.pollhub.repository.VoteJdbcRepository;
+import com.pablorodriguesb.pollhub.repository.VoteRow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+// gravacao em lote compartilhada pelo write-behind e pelo lote de votos:
+// INSERT de varias linhas, contagem das opcoes e um VoteCastEvent por voto,
+// tudo na mesma transacao
+@Service
+public class VoteBatchWriter {
+
+    private final VoteJdbcRepository voteJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public VoteBatchWriter(VoteJdbcRepository voteJdbcRepository,
+                           PlatformTransactionManager transactionManager,
+                           ApplicationEventPublisher eventPublisher) {
+        this.voteJdbcRepository = voteJdbcRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    // grava as linhas em uma transacao; se alguma violar a unique (user_id, poll_id)
+    // nada e gravado e a DataIntegrityViolationException chega ao chamador
+    public int insert(List<VoteRow> rows) {
+        Integer written = transactionTemplate.execute(status -> {
+            int count = voteJdbcRepository.insertAll(rows);
+            Map<Long, Integer> votesByOption = new HashMap<>();
+            for (VoteRow row : rows) {
+                votesByOption.merge(row.optionId(), 1, Integer::sum);
+            }
+            Map<Long, Long> counts = voteJdbcRepository.incrementVoteCounts(votesByOption);
+            // numera os votos de cada opcao: o ultimo da leva recebe a contagem resultante
+            Map<Long, Integer> numbered = new HashMap<>();
+            for (VoteRow row : rows) {
+                long optionVotes = counts.get(row.optionId()) - votesByOption.get(row.optionId())
+                        + numbered.merge(row.optionId(), 1, Integer::sum);
+                eventPublisher.publishEvent(new VoteCastEvent(row.pollId(), row.optionId(),
+                        row.userId(), optionVotes));
+            }
+            return count;
+        });
+        return written != null ? written : 0;
+    }
+
+    public WriteResult write(List<VoteRow> rows) {
+        return write(rows, this::insert);
+    }
+
+    // grava a leva com o insert informado (que pode repetir falhas transitorias).
+    // se outro voto do mesmo par chegou antes, a unique derruba a leva e as linhas
+    // sao regravadas uma a uma para isolar a colisao; a linha recusada por outra
+    // restricao (opcao ou usuario removido) nao e contada como voto duplicado
+    public WriteResult write(List<VoteRow> rows, ToIntFunction<List<VoteRow>> insert) {
+        if (rows.isEmpty()) {
+            return new WriteResult(0, List.of(), List.of());
+        }
+        try {
+            return new WriteResult(insert.applyAsInt(rows), List.of(), List.of());
+        } catch (DataIntegrityViolationException e) {
+            int written = 0;
+            List<Integer> duplicates = new ArrayList<>();
+            List<Integer> rejected = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                try {
+                    written += insert.applyAsInt(List.of(rows.get(i)));
+                } catch (DataIntegrityViolationException rowEx) {
+                    if (VoteConstraints.isDuplicateVote(rowEx)) {
+                        duplicates.add(i);
+                    } else {
+                        rejected.add(i);
+                    }
+                }
+            }
+            return new WriteResult(written, duplicates, rejected);
+        }
+    }
+
+    // linhas gravadas e posicoes (na lista recebida) recusadas como voto duplicado
+    // ou por outra restricao do banco
+    public record WriteResult(int written, List<Integer> duplicates, List<Integer> rejected) {
+    }
+}
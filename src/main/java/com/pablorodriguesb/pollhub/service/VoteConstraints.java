@@ -0,0 +1,34 @@
+package com.pablorodriguesb.pollhub.service;
+
+import com.pablorodriguesb.pollhub.model.Vote;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+// classifica as violacoes de integridade na gravacao de votos pelo nome da restricao.
+// so a unique (user_id, poll_id) e voto repetido; chave estrangeira, NOT NULL ou
+// outra unique indicam voto invalido e nao podem ser tratados como duplicado
+final class VoteConstraints {
+
+    private VoteConstraints() {
+    }
+
+    // pelo JPA o nome vem da ConstraintViolationException do Hibernate; pelo
+    // JdbcTemplate, da mensagem do driver, que cita a restricao violada
+    static boolean isDuplicateVote(DataIntegrityViolationException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return mentionsUserPoll(violation.getConstraintName());
+            }
+            if (t.getMessage() != null && mentionsUserPoll(t.getMessage())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean mentionsUserPoll(String text) {
+        return text.toLowerCase(Locale.ROOT).contains(Vote.UK_USER_POLL);
+    }
+}
@@ -0,0 +1,44 @@
+package com.pablorodriguesb.pollhub.service;
+
+import com.pablorodriguesb.pollhub.repository.OptionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// na subida, antes de aceitar requisicoes, recalcula vote_count das opcoes que
+// divergem da tabela votes. cobre as opcoes criadas antes da coluna existir
+// (que nascem com 0) sem esperar a reconciliacao periodica, que pode estar
+// desligada (pollhub.votes.reconcile.fix=false)
+@Service
+public class VoteCountBackfill extends StartupBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteCountBackfill.class);
+
+    private final OptionRepository optionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    @Autowired
+    public VoteCountBackfill(OptionRepository optionRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${pollhub.votes.recount-on-startup:true}") boolean enabled) {
+        this.optionRepository = optionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void backfill() {
+        if (!enabled) {
+            return;
+        }
+        Integer updated = transactionTemplate.execute(status -> optionRepository.recountDriftedVotes());
+        if (updated != null && updated > 0) {
+            log.info("Contagem de votos recalculada para {} opções", updated);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.pablorodriguesb.pollhub.service;
+
+import com.pablorodriguesb.pollhub.dto.VoteCountDriftDTO;
+import com.pablorodriguesb.pollhub.repository.OptionRepository;
+import com.pablorodriguesb.pollhub.repository.OptionVoteCount;
+import com.pablorodriguesb.pollhub.repository.VoteCountDrift;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// confere periodicamente a coluna vote_count contra a tabela votes,
+// reporta as divergencias e, se habilitado, corrige a contagem. depois confere
+// a contagem em memoria dos resultados contra a coluna.
+@Service
+public class VoteCountReconciliationService {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteCountReconciliationService.class);
+
+    // enquetes por consulta na conferencia da contagem em memoria
+    private static final int TALLY_CHECK_CHUNK = 500;
+
+    private final OptionRepository optionRepository;
+    private final VoteTallyService voteTallyService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean fixDrift;
+
+    @Autowired
+    public VoteCountReconciliationService(OptionRepository optionRepository,
+                                          VoteTallyService voteTallyService,
+                                          PlatformTransactionManager transactionManager,
+                                          @Value("${pollhub.votes.reconcile.fix:true}") boolean fixDrift) {
+        this.optionRepository = optionRepository;
+        this.voteTallyService = voteTallyService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.fixDrift = fixDrift;
+    }
+
+    @Scheduled(initialDelayString = "${pollhub.votes.reconcile.initial-delay-ms:60000}",
+            fixedDelayString = "${pollhub.votes.reconcile.interval-ms:3600000}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    public List<VoteCountDriftDTO> reconcile() {
+        List<VoteCountDriftDTO> report = new ArrayList<>();
+        Set<Long> recountedPolls = new LinkedHashSet<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (VoteCountDrift drift : optionRepository.findVoteCountDrift()) {
+                log.warn("Contagem de votos divergente: enquete={}, opcao={}, armazenada={}, real={}",
+                        drift.getPollId(), drift.getOptionId(),
+                        drift.getStoredCount(), drift.getActualCount());
+
+                if (fixDrift) {
+                    // recontagem em um unico UPDATE para nao perder votos concorrentes
+                    optionRepository.recountVotes(drift.getOptionId());
+                    recountedPolls.add(drift.getPollId());
+                }
+
+                VoteCountDriftDTO dto = new VoteCountDriftDTO();
+                dto.setPollId(drift.getPollId());
+                dto.setOptionId(drift.getOptionId());
+                dto.setStoredCount(drift.getStoredCount());
+                dto.setActualCount(drift.getActualCount());
+                report.add(dto);
+            }
+        });
+
+        // so descarta a contagem em memoria depois do commit; antes dele, um
+        // leitor concorrente recarregaria a enquete com a contagem antiga
+        recountedPolls.forEach(voteTallyService::evict);
+
+        if (!report.isEmpty()) {
+            log.warn("Reconciliação de votos encontrou {} opções divergentes", report.size());
+        }
+        verifyTallies();
+        return report;
+    }
+
+    // descarta a contagem em memoria que divergir de vote_count; a enquete e
+    // recarregada no proximo acesso, com nova geracao (e nova ETag)
+    int verifyTallies() {
+        List<Long> pollIds = voteTallyService.loadedPollIds();
+        int evicted = 0;
+        for (int from = 0; from < pollIds.size(); from += TALLY_CHECK_CHUNK) {
+            List<Long> chunk = pollIds.subList(from, Math.min(from + TALLY_CHECK_CHUNK, pollIds.size()));
+            Map<Long, Map<Long, Long>> countsByPoll = new HashMap<>();
+            for (OptionVoteCount count : optionRepository.findVoteCountsByPollIdIn(chunk)) {
+                countsByPoll.computeIfAbsent(count.getPollId(), id -> new HashMap<>())
+                        .put(count.getOptionId(), count.getVoteCount());
+            }
+            for (Long pollId : chunk) {
+                if (voteTallyService.evictIfStale(pollId, countsByPoll.getOrDefault(pollId, Map.of()))) {
+                    evicted++;
+                }
+            }
+        }
+        if (evicted > 0) {
+            log.warn("Contagem em memória divergente do banco em {} enquetes; recarregadas no próximo acesso",
+                    evicted);
+        }
+        return evicted;
+    }
+}
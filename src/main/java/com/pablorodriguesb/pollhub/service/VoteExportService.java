@@ -0,0 +1,141 @@
+package com.pablorodriguesb.pollhub.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.pablorodriguesb.pollhub.dto.VoteResponseDTO;
+import com.pablorodriguesb.pollhub.exception.BadRequestException;
+import com.pablorodriguesb.pollhub.exception.ResourceNotFoundException;
+import com.pablorodriguesb.pollhub.repository.PollRepository;
+import com.pablorodriguesb.pollhub.repository.VoteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+// exporta os votos de uma enquete linha a linha, com memoria constante:
+// os registros sao lidos do cursor do banco e escritos direto na saida.
+@Service
+public class VoteExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER =
+            "pollId,pollTitle,optionId,optionText,username,votedAt\n";
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final VoteRepository voteRepository;
+    private final PollRepository pollRepository;
+    private final ObjectWriter ndjsonWriter;
+
+    @Autowired
+    public VoteExportService(VoteRepository voteRepository, PollRepository pollRepository,
+                             ObjectMapper objectMapper) {
+        this.voteRepository = voteRepository;
+        this.pollRepository = pollRepository;
+        // nao fecha nem descarrega a saida a cada linha; o buffer cuida disso
+        this.ndjsonWriter = objectMapper.writerFor(VoteResponseDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public enum Format {
+        NDJSON("application/x-ndjson"),
+        CSV("text/csv");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Formato de exportação inválido: " + value);
+            }
+        }
+    }
+
+    // verifica a enquete e a permissao antes de comecar a escrever a resposta:
+    // a exportacao traz quem votou em que, entao so o criador ou um ADMIN
+    public void checkCanExport(Long pollId, String username, boolean admin) {
+        String creator = pollRepository.findCreatorUsernameById(pollId)
+                .orElseThrow(() -> new ResourceNotFoundException("Enquete não encontrada"));
+        if (!admin && !creator.equals(username)) {
+            throw new AccessDeniedException("Acesso negado: você não é o criador desta enquete");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long export(Long pollId, Format format, OutputStream output) throws IOException {
+        OutputStream out = new BufferedOutputStream(output, BUFFER_SIZE);
+        long rows = 0;
+        try (Stream<VoteResponseDTO> votes = voteRepository.streamByPollId(pollId)) {
+            if (format == Format.CSV) {
+                out.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+            }
+            Iterator<VoteResponseDTO> iterator = votes.iterator();
+            while (iterator.hasNext()) {
+                VoteResponseDTO vote = iterator.next();
+                if (format == Format.CSV) {
+                    writeCsv(vote, out);
+                } else {
+                    ndjsonWriter.writeValue(out, vote);
+                    out.write('\n');
+                }
+                rows++;
+            }
+        }
+        out.flush();
+        return rows;
+    }
+
+    private void writeCsv(VoteResponseDTO vote, OutputStream out) throws IOException {
+        StringBuilder line = new StringBuilder(128);
+        line.append(vote.getPollId()).append(',');
+        appendCsvField(line, vote.getPollTitle());
+        line.append(',').append(vote.getOptionId()).append(',');
+        appendCsvField(line, vote.getOptionText());
+        line.append(',');
+        appendCsvField(line, vote.getUsername());
+        line.append(',');
+        if (vote.getVotedAt() != null) {
+            line.append(vote.getVotedAt());
+        }
+        line.append('\n');
+        out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // aspas apenas quando o campo contem separador, aspas ou quebra de linha.
+    // texto vem de usuarios: celula que comeca como formula ganha um apostrofo
+    // para a planilha tratar como texto
+    private void appendCsvField(StringBuilder line, String value) {
+        if (value == null) {
+            return;
+        }
+        if (!value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
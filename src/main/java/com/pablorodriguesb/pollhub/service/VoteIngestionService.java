@@ -0,0 +1,278 @@
+package com.pablorodriguesb.pollhub.service;
+
+import com.pablorodriguesb.pollhub.exception.BadRequestException;
+import com.pablorodriguesb.pollhub.exception.ResourceNotFoundException;
+import com.pablorodriguesb.pollhub.exception.TooManyRequestsException;
+import com.pablorodriguesb.pollhub.model.User;
+import com.pablorodriguesb.pollhub.repository.OptionRepository;
+import com.pablorodriguesb.pollhub.repository.VoteRepository;
+import com.pablorodriguesb.pollhub.repository.VoteRow;
+import jakarta.annotation.PostConstruct;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// modo opcional de ingestao de votos (write-behind): o voto e validado,
+// aceito em uma fila limitada e gravado em lote por uma thread em segundo plano.
+// a unique (user_id, poll_id) continua sendo garantida pelo banco. falhas de
+// banco que nao sejam de integridade sao repetidas com espera crescente; esgotadas
+// as tentativas, o voto ja aceito e perdido, registrado no log e contado.
+@Service
+public class VoteIngestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteIngestionService.class);
+
+    private final VoteRepository voteRepository;
+    private final OptionRepository optionRepository;
+    private final VoteBatchWriter voteBatchWriter;
+
+    private final boolean enabled;
+    private final long flushIntervalMs;
+    private final int batchSize;
+    private final int maxRetries;
+    private final long retryBackoffMs;
+    private final Counter droppedVotes;
+    private final Counter duplicateVotes;
+    private final Counter constraintRejectedVotes;
+
+    private final BlockingQueue<VoteRow> queue;
+    // votos aceitos e ainda nao gravados, para barrar o voto duplicado antes do flush
+    private final Set<VoteKey> pending = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    @Autowired
+    public VoteIngestionService(VoteRepository voteRepository,
+                                OptionRepository optionRepository,
+                                VoteBatchWriter voteBatchWriter,
+                                MeterRegistry meterRegistry,
+                                @Value("${pollhub.votes.write-behind.enabled:false}") boolean enabled,
+                                @Value("${pollhub.votes.write-behind.queue-capacity:10000}") int queueCapacity,
+                                @Value("${pollhub.votes.write-behind.flush-interval-ms:200}") long flushIntervalMs,
+                                @Value("${pollhub.votes.write-behind.batch-size:500}") int batchSize,
+                                @Value("${pollhub.votes.write-behind.max-retries:5}") int maxRetries,
+                                @Value("${pollhub.votes.write-behind.retry-backoff-ms:200}") long retryBackoffMs) {
+        this.voteRepository = voteRepository;
+        this.optionRepository = optionRepository;
+        this.voteBatchWriter = voteBatchWriter;
+        this.enabled = enabled;
+        this.flushIntervalMs = flushIntervalMs;
+        this.batchSize = batchSize;
+        this.maxRetries = maxRetries;
+        this.retryBackoffMs = retryBackoffMs;
+        this.droppedVotes = Counter.builder("pollhub.votes.write-behind.dropped")
+                .description("Votos aceitos (202) e perdidos por falha persistente do banco")
+                .register(meterRegistry);
+        // mesmo contador do voto sincrono (VoteService)
+        this.duplicateVotes = Counter.builder("pollhub.votes.rejected")
+                .tag("reason", "duplicate")
+                .description("Votos recusados porque o usuario ja votou na enquete")
+                .register(meterRegistry);
+        this.constraintRejectedVotes = Counter.builder("pollhub.votes.rejected")
+                .tag("reason", "constraint")
+                .description("Votos aceitos (202) e recusados pelo banco por outra restricao que nao a unique")
+                .register(meterRegistry);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = Thread.ofPlatform()
+                .name("vote-writer")
+                .daemon(true)
+                .start(this::runWriter);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        // grava o que sobrou na fila antes de desligar
+        while (!queue.isEmpty()) {
+            flush();
+        }
+    }
+
+    // valida e enfileira o voto; a gravacao acontece no proximo flush
+    public void submit(Long pollId, Long optionId, User voter) {
+        if (!optionRepository.existsByIdAndPollId(optionId, pollId)) {
+            throw new ResourceNotFoundException("Opção não encontrada");
+        }
+
+        VoteKey key = new VoteKey(pollId, voter.getId());
+        if (!pending.add(key)) {
+            duplicateVotes.increment();
+            throw new BadRequestException("Você já votou nesta enquete");
+        }
+
+        if (voteRepository.existsByPollIdAndUserId(pollId, voter.getId())) {
+            pending.remove(key);
+            duplicateVotes.increment();
+            throw new BadRequestException("Você já votou nesta enquete");
+        }
+
+        VoteRow row = new VoteRow(pollId, optionId, voter.getId(), LocalDateTime.now());
+        if (!queue.offer(row)) {
+            pending.remove(key);
+            throw new TooManyRequestsException("Muitos votos em processamento, tente novamente");
+        }
+    }
+
+    private void runWriter() {
+        while (running) {
+            VoteRow first;
+            try {
+                first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (first == null) {
+                continue;
+            }
+            try {
+                write(collectBatch(first));
+            } catch (RuntimeException e) {
+                log.error("Falha no gravador de votos", e);
+            }
+        }
+    }
+
+    // acumula a leva ate encher ou ate o intervalo de flush expirar
+    private List<VoteRow> collectBatch(VoteRow first) {
+        List<VoteRow> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        try {
+            while (batch.size() < batchSize) {
+                queue.drainTo(batch, batchSize - batch.size());
+                long remaining = deadline - System.nanoTime();
+                if (batch.size() >= batchSize || remaining <= 0) {
+                    break;
+                }
+                VoteRow next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    break;
+                }
+                batch.add(next);
+            }
+        } catch (InterruptedException e) {
+            // desligando: grava o que ja foi coletado
+            running = false;
+        }
+        return batch;
+    }
+
+    // drena ate uma leva da fila e grava; retorna quantos votos foram gravados
+    int flush() {
+        List<VoteRow> batch = new ArrayList<>(batchSize);
+        queue.drainTo(batch, batchSize);
+        return write(batch);
+    }
+
+    private int write(List<VoteRow> batch) {
+        try {
+            VoteBatchWriter.WriteResult result = voteBatchWriter.write(batch, this::insertOrDrop);
+            // aceitos com 202 e recusados pela unique na gravacao
+            duplicateVotes.increment(result.duplicates().size());
+            for (int i : result.duplicates()) {
+                VoteRow row = batch.get(i);
+                log.warn("Voto descartado na gravação em lote: enquete={}, usuario={}",
+                        row.pollId(), row.userId());
+            }
+            // recusados por outra restricao (opcao ou enquete removida depois do 202)
+            constraintRejectedVotes.increment(result.rejected().size());
+            for (int i : result.rejected()) {
+                VoteRow row = batch.get(i);
+                log.error("Voto recusado pelo banco: enquete={}, opcao={}, usuario={}, votadoEm={}",
+                        row.pollId(), row.optionId(), row.userId(), row.votedAt());
+            }
+            return result.written();
+        } finally {
+            for (VoteRow row : batch) {
+                pending.remove(new VoteKey(row.pollId(), row.userId()));
+            }
+        }
+    }
+
+    // esgotadas as tentativas, descarta as linhas em vez de propagar a falha
+    private int insertOrDrop(List<VoteRow> rows) {
+        try {
+            return insertWithRetry(rows);
+        } catch (DataIntegrityViolationException e) {
+            // o gravador isola a linha e classifica a restricao violada
+            throw e;
+        } catch (DataAccessException e) {
+            drop(rows, e);
+            return 0;
+        }
+    }
+
+    // repete falhas que nao sejam de integridade (conexao perdida, failover,
+    // timeout de lock) com espera dobrando a cada tentativa
+    private int insertWithRetry(List<VoteRow> rows) {
+        long backoff = retryBackoffMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return voteBatchWriter.insert(rows);
+            } catch (DataIntegrityViolationException e) {
+                throw e;
+            } catch (DataAccessException e) {
+                if (attempt > maxRetries) {
+                    throw e;
+                }
+                log.warn("Falha ao gravar {} votos (tentativa {} de {}), repetindo em {} ms",
+                        rows.size(), attempt, maxRetries + 1, backoff, e);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    // desligando: desiste das tentativas restantes
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                backoff *= 2;
+            }
+        }
+    }
+
+    // os votos ja foram confirmados ao cliente com 202; ficam no log para recuperacao
+    private void drop(List<VoteRow> rows, DataAccessException e) {
+        droppedVotes.increment(rows.size());
+        log.error("Falha persistente ao gravar {} votos; votos perdidos", rows.size(), e);
+        for (VoteRow row : rows) {
+            log.error("Voto perdido: enquete={}, opcao={}, usuario={}, votadoEm={}",
+                    row.pollId(), row.optionId(), row.userId(), row.votedAt());
+        }
+    }
+
+    private record VoteKey(Long pollId, Long userId) {
+    }
+}
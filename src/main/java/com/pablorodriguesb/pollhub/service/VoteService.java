@@ -1,16 +1,21 @@
 package com.pablorodriguesb.pollhub.service;
 
 import com.pablorodriguesb.pollhub.dto.VoteResponseDTO;
+import com.pablorodriguesb.pollhub.event.VoteCastEvent;
 import com.pablorodriguesb.pollhub.exception.BadRequestException;
 import com.pablorodriguesb.pollhub.exception.ResourceNotFoundException;
-import com.pablorodriguesb.pollhub.model.Option;
-import com.pablorodriguesb.pollhub.model.Poll;
 import com.pablorodriguesb.pollhub.model.User;
 import com.pablorodriguesb.pollhub.model.Vote;
 import com.pablorodriguesb.pollhub.repository.OptionRepository;
 import com.pablorodriguesb.pollhub.repository.PollRepository;
+import com.pablorodriguesb.pollhub.repository.VoteJdbcRepository;
 import com.pablorodriguesb.pollhub.repository.VoteRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,37 +29,60 @@ public class VoteService {
     private final VoteRepository voteRepository;
     private final OptionRepository optionRepository;
     private final PollRepository pollRepository;
+    private final VoteJdbcRepository voteJdbcRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter duplicateVotes;
 
     @Autowired
     public VoteService(VoteRepository voteRepository, OptionRepository optionRepository,
-                       PollRepository pollRepository) {
+                       PollRepository pollRepository,
+                       VoteJdbcRepository voteJdbcRepository,
+                       ApplicationEventPublisher eventPublisher,
+                       MeterRegistry meterRegistry) {
         this.voteRepository = voteRepository;
         this.optionRepository = optionRepository;
         this.pollRepository = pollRepository;
+        this.voteJdbcRepository = voteJdbcRepository;
+        this.eventPublisher = eventPublisher;
+        this.duplicateVotes = Counter.builder("pollhub.votes.rejected")
+                .tag("reason", "duplicate")
+                .description("Votos recusados porque o usuario ja votou na enquete")
+                .register(meterRegistry);
     }
 
-    // registra o voto de um usuario em uma enquete
+    // registra o voto de um usuario em uma enquete. caminho unico de voto:
+    // a opcao e validada contra a enquete com uma consulta pela chave primaria,
+    // sem carregar a enquete nem a colecao de opcoes
+    @Transactional
+    @Timed(value = "pollhub.votes.cast", histogram = true)
     public Vote vote(Long pollId, Long optionId, User user) {
-        Poll poll = pollRepository.findById(pollId)
-                .orElseThrow(() -> new ResourceNotFoundException("Enquete" +
-                        "não encontrada"));
-
-        // Verifica se já votou
-        if (voteRepository.existsByPollAndUser(poll, user)) {
-            throw new BadRequestException("Você já votou nesta enquete");
+        if (!optionRepository.existsByIdAndPollId(optionId, pollId)) {
+            throw new ResourceNotFoundException("Opção não encontrada");
         }
 
-        Option option = optionRepository.findById(optionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Opção não encontrada"));
-
-        // cria e salva o voto
+        // cria e salva o voto; enquete e opcao entram apenas como referencia
         Vote vote = new Vote();
         vote.setUser(user);
-        vote.setPoll(poll);
-        vote.setOption(option);
+        vote.setPoll(pollRepository.getReferenceById(pollId));
+        vote.setOption(optionRepository.getReferenceById(optionId));
         vote.setVotedAt(LocalDateTime.now());
 
-        return voteRepository.save(vote);
+        // sem consulta previa: a unique (user_id, poll_id) barra o voto repetido,
+        // inclusive entre requisicoes concorrentes
+        Vote saved;
+        try {
+            saved = voteRepository.saveAndFlush(vote);
+        } catch (DataIntegrityViolationException e) {
+            if (VoteConstraints.isDuplicateVote(e)) {
+                duplicateVotes.increment();
+                throw new BadRequestException("Você já votou nesta enquete");
+            }
+            throw e;
+        }
+        // incremento e leitura da nova contagem no mesmo comando
+        long optionVotes = voteJdbcRepository.incrementVoteCount(optionId);
+        eventPublisher.publishEvent(new VoteCastEvent(pollId, optionId, user.getId(), optionVotes));
+        return saved;
     }
 
     // retorna todos os votos de uma enquete.
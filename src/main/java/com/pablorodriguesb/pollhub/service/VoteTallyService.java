@@ -0,0 +1,301 @@
+package com.pablorodriguesb.pollhub.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pablorodriguesb.pollhub.dto.OptionResultDTO;
+import com.pablorodriguesb.pollhub.dto.PollResultDTO;
+import com.pablorodriguesb.pollhub.event.VoteCastEvent;
+import com.pablorodriguesb.pollhub.exception.ResourceNotFoundException;
+import com.pablorodriguesb.pollhub.model.Option;
+import com.pablorodriguesb.pollhub.model.Poll;
+import com.pablorodriguesb.pollhub.repository.PollRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// mantem em memoria a contagem de votos por opcao de cada enquete.
+// a contagem e carregada do banco no primeiro acesso (coluna vote_count das
+// opcoes) e depois atualizada a cada voto confirmado, sem novas consultas.
+// a entrada vai para o cache antes da consulta e guarda os votos confirmados
+// durante a carga; cada voto traz a contagem da opcao apos ele, entao o que a
+// consulta ja enxergou e ignorado e o resto e somado uma unica vez
+@Service
+public class VoteTallyService {
+
+    private final PollRepository pollRepository;
+
+    private final Cache<Long, TallyEntry> tallies;
+
+    // a versao dos resultados reinicia quando a contagem e recarregada; o prefixo
+    // do processo e a geracao da carga evitam repetir uma tag com outros numeros
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+    private final AtomicLong generations = new AtomicLong();
+
+    @Autowired
+    public VoteTallyService(PollRepository pollRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${pollhub.results.tally.max-polls:10000}") long maxPolls) {
+        this.pollRepository = pollRepository;
+        this.tallies = Caffeine.newBuilder()
+                .maximumSize(maxPolls)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tallies, "poll-results");
+    }
+
+    public PollResultDTO getResults(Long pollId) {
+        return getOrLoad(pollId).toResultDTO();
+    }
+
+    // resultados com a versao da contagem que os produziu; a versao e lida antes
+    // dos contadores, como na ETag, entao os numeros nunca sao mais velhos que ela
+    public VersionedResults getVersionedResults(Long pollId) {
+        PollTally tally = getOrLoad(pollId);
+        ResultsVersion version = tally.currentVersion();
+        return new VersionedResults(version, tally.toResultDTO());
+    }
+
+    // ETag forte dos resultados; muda a cada voto confirmado e a cada recarga
+    // (inclusive a da conferencia com o banco, que corrige contagens divergentes).
+    // deve ser lida antes de montar os resultados: assim uma corrida com um voto
+    // so pode associar numeros mais novos a uma tag antiga, nunca o contrario
+    public String resultsETag(Long pollId) {
+        return resultsETag(getOrLoad(pollId).currentVersion());
+    }
+
+    // ETag de uma versao ja lida, para a tag e o corpo virem da mesma contagem
+    public String resultsETag(ResultsVersion version) {
+        return "\"" + epoch + "-" + version.generation() + "-" + version.sequence() + "\"";
+    }
+
+    public boolean isPublic(Long pollId) {
+        return getOrLoad(pollId).publicPoll;
+    }
+
+    // enquete publica ou acessada pelo criador; usa apenas os dados em memoria
+    public boolean canView(Long pollId, String username) {
+        PollTally tally = getOrLoad(pollId);
+        return tally.publicPoll || (username != null && username.equals(tally.creatorUsername));
+    }
+
+    // incrementa o contador somente depois do commit do voto
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVoteCast(VoteCastEvent event) {
+        // sem entrada a consulta ainda nao comecou e vai enxergar este voto
+        TallyEntry entry = tallies.asMap().get(event.pollId());
+        if (entry != null) {
+            entry.onVote(event);
+        }
+    }
+
+    // descarta a contagem em memoria (enquete excluida ou recontagem)
+    public void evict(Long pollId) {
+        tallies.invalidate(pollId);
+    }
+
+    // enquetes com contagem carregada, para a conferencia contra o banco
+    public List<Long> loadedPollIds() {
+        List<Long> pollIds = new ArrayList<>();
+        tallies.asMap().forEach((pollId, entry) -> {
+            if (entry.isLoaded()) {
+                pollIds.add(pollId);
+            }
+        });
+        return pollIds;
+    }
+
+    // compara a contagem em memoria com a do banco (optionId -> vote_count) e
+    // descarta a enquete se divergir. um voto recem-confirmado ainda nao somado
+    // tambem diverge; nesse caso so custa uma recarga
+    public boolean evictIfStale(Long pollId, Map<Long, Long> storedCounts) {
+        TallyEntry entry = tallies.asMap().get(pollId);
+        if (entry == null || !entry.isLoaded() || entry.tally().matches(storedCounts)) {
+            return false;
+        }
+        tallies.asMap().remove(pollId, entry);
+        return true;
+    }
+
+    private PollTally getOrLoad(Long pollId) {
+        TallyEntry entry = tallies.getIfPresent(pollId);
+        if (entry == null) {
+            TallyEntry created = new TallyEntry();
+            entry = tallies.asMap().putIfAbsent(pollId, created);
+            if (entry == null) {
+                entry = created;
+                load(pollId, created);
+            }
+        }
+        return entry.await();
+    }
+
+    private void load(Long pollId, TallyEntry entry) {
+        try {
+            Poll poll = pollRepository.findByIdWithOptions(pollId)
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "Enquete não encontrada"));
+            entry.complete(new PollTally(poll, generations.incrementAndGet()));
+        } catch (RuntimeException e) {
+            tallies.asMap().remove(pollId, entry);
+            entry.fail(e);
+        }
+    }
+
+    // entrada do cache. nasce vazia, antes da consulta: votos confirmados durante
+    // a carga ficam guardados e sao aplicados quando a contagem chega
+    static final class TallyEntry {
+
+        private final CompletableFuture<PollTally> loaded = new CompletableFuture<>();
+        private List<VoteCastEvent> pending = new ArrayList<>();
+        private PollTally tally;
+
+        synchronized void onVote(VoteCastEvent event) {
+            if (tally != null) {
+                tally.increment(event.optionId(), event.optionVotes());
+            } else if (pending != null) {
+                pending.add(event);
+            }
+        }
+
+        synchronized void complete(PollTally tally) {
+            for (VoteCastEvent event : pending) {
+                tally.increment(event.optionId(), event.optionVotes());
+            }
+            pending = null;
+            this.tally = tally;
+            loaded.complete(tally);
+        }
+
+        synchronized void fail(RuntimeException e) {
+            pending = null;
+            loaded.completeExceptionally(e);
+        }
+
+        boolean isLoaded() {
+            return loaded.isDone() && !loaded.isCompletedExceptionally();
+        }
+
+        PollTally tally() {
+            return loaded.join();
+        }
+
+        // leitores concorrentes esperam a carga em andamento em vez de repeti-la
+        PollTally await() {
+            try {
+                return loaded.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+
+    // snapshot imutavel da enquete com um contador por opcao
+    static final class PollTally {
+
+        private final Long pollId;
+        private final String title;
+        private final String description;
+        private final boolean publicPoll;
+        private final String creatorUsername;
+        private final List<OptionEntry> options;
+        private final Map<Long, LongAdder> counters;
+        // vote_count de cada opcao na carga: votos numerados ate ele ja estao somados
+        private final Map<Long, Long> loadedCounts;
+        private final long generation;
+        private final AtomicLong version = new AtomicLong();
+
+        PollTally(Poll poll, long generation) {
+            this.generation = generation;
+            this.pollId = poll.getId();
+            this.title = poll.getTitle();
+            this.description = poll.getDescription();
+            this.publicPoll = Boolean.TRUE.equals(poll.getIsPublic());
+            this.creatorUsername = poll.getCreatedBy() != null
+                    ? poll.getCreatedBy().getUsername() : null;
+
+            List<OptionEntry> entries = new ArrayList<>();
+            Map<Long, LongAdder> adders = new HashMap<>();
+            Map<Long, Long> counts = new HashMap<>();
+            for (Option option : poll.getOptions()) {
+                LongAdder adder = new LongAdder();
+                adder.add(option.getVoteCount());
+                entries.add(new OptionEntry(option.getId(), option.getText()));
+                adders.put(option.getId(), adder);
+                counts.put(option.getId(), (long) option.getVoteCount());
+            }
+            this.options = List.copyOf(entries);
+            this.counters = Map.copyOf(adders);
+            this.loadedCounts = Map.copyOf(counts);
+        }
+
+        // optionVotes e a contagem da opcao logo apos o voto; se a carga ja
+        // leu esse valor ou um maior, o voto esta na contagem e e ignorado
+        void increment(Long optionId, long optionVotes) {
+            LongAdder counter = counters.get(optionId);
+            if (counter != null && optionVotes > loadedCounts.get(optionId)) {
+                counter.increment();
+                // a versao sobe depois do contador (ver resultsETag)
+                version.incrementAndGet();
+            }
+        }
+
+        ResultsVersion currentVersion() {
+            return new ResultsVersion(generation, version.get());
+        }
+
+        boolean matches(Map<Long, Long> storedCounts) {
+            for (Map.Entry<Long, LongAdder> counter : counters.entrySet()) {
+                Long stored = storedCounts.get(counter.getKey());
+                if (stored == null || stored != counter.getValue().sum()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long votes(Long optionId) {
+            LongAdder counter = counters.get(optionId);
+            return counter != null ? counter.sum() : 0L;
+        }
+
+        PollResultDTO toResultDTO() {
+            List<OptionResultDTO> results = new ArrayList<>(options.size());
+            for (OptionEntry option : options) {
+                OptionResultDTO dto = new OptionResultDTO();
+                dto.setOptionId(option.id());
+                dto.setText(option.text());
+                dto.setVotes((int) votes(option.id()));
+                results.add(dto);
+            }
+
+            PollResultDTO pollResultDTO = new PollResultDTO();
+            pollResultDTO.setPollId(pollId);
+            pollResultDTO.setTitle(title);
+            pollResultDTO.setDescription(description);
+            pollResultDTO.setResults(results);
+            return pollResultDTO;
+        }
+    }
+
+    public record VersionedResults(ResultsVersion version, PollResultDTO results) {
+    }
+
+    private record OptionEntry(Long id, String text) {
+    }
+}
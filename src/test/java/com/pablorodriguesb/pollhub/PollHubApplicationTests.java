@@ -1,16 +1,31 @@
 package com.pablorodriguesb.pollhub;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.test.context.ActiveProfiles;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 @SpringBootTest
 @ActiveProfiles("test")
 class PollHubApplicationTests {
 
+	@Autowired
+	@Qualifier("taskScheduler")
+	private ThreadPoolTaskScheduler taskScheduler;
+
 	@Test
 	void contextLoads() {
 		System.out.println("Contexto carregado com sucesso!");
 	}
 
+	@Test
+	void scheduler_hasMoreThanOneThread() {
+		// o flush dos resultados nao pode esperar atras da reconciliacao
+		assertEquals(4, taskScheduler.getPoolSize());
+	}
+
 }
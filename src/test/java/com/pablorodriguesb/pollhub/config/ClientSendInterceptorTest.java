@@ -0,0 +1,51 @@
+package com.pablorodriguesb.pollhub.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientSendInterceptorTest {
+
+    private final ClientSendInterceptor interceptor = new ClientSendInterceptor("/app/");
+
+    @Test
+    void sendToTopic_isRejected() {
+        // arrange
+        Message<byte[]> message = frame(StompCommand.SEND, "/topic/polls/1/results");
+
+        // act & assert
+        assertThrows(MessageDeliveryException.class, () -> interceptor.preSend(message, null));
+    }
+
+    @Test
+    void sendWithoutDestination_isRejected() {
+        // arrange
+        Message<byte[]> message = frame(StompCommand.SEND, null);
+
+        // act & assert
+        assertThrows(MessageDeliveryException.class, () -> interceptor.preSend(message, null));
+    }
+
+    @Test
+    void subscribeToTopicAndSendToApplication_areAllowed() {
+        // arrange
+        Message<byte[]> subscribe = frame(StompCommand.SUBSCRIBE, "/topic/polls/1/results");
+        Message<byte[]> send = frame(StompCommand.SEND, "/app/ping");
+
+        // act & assert
+        assertSame(subscribe, interceptor.preSend(subscribe, null));
+        assertSame(send, interceptor.preSend(send, null));
+    }
+
+    private Message<byte[]> frame(StompCommand command, String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setDestination(destination);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
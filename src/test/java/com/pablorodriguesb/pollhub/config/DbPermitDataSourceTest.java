@@ -0,0 +1,98 @@
+package com.pablorodriguesb.pollhub.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DbPermitDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    private DbPermitDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DbPermitDataSource(target, 2, 50);
+    }
+
+    @Test
+    void getConnection_holdsPermitUntilClose() throws SQLException {
+        // arrange
+        when(target.getConnection()).thenReturn(connection);
+
+        // act
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        // assert
+        assertEquals(0, dataSource.getAvailablePermits());
+        first.close();
+        first.close();
+        assertEquals(1, dataSource.getAvailablePermits());
+        second.close();
+        assertEquals(2, dataSource.getAvailablePermits());
+        verify(connection, times(3)).close();
+    }
+
+    @Test
+    void getConnection_noPermit_timesOut() throws SQLException {
+        // arrange
+        when(target.getConnection()).thenReturn(connection);
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        // act & assert
+        assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    void getConnection_poolFailure_releasesPermit() throws SQLException {
+        // arrange
+        when(target.getConnection()).thenThrow(new SQLException("pool esgotado"));
+
+        // act & assert
+        assertThrows(SQLException.class, () -> dataSource.getConnection());
+        assertEquals(2, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void connection_delegatesOtherCalls() throws SQLException {
+        // arrange
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(false);
+
+        // act & assert
+        assertFalse(dataSource.getConnection().getAutoCommit());
+    }
+
+    @Test
+    void connection_equalityIsProxyIdentity() throws SQLException {
+        // arrange: duas conexoes embrulhadas sobre a mesma conexao fisica
+        when(target.getConnection()).thenReturn(connection);
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        // act & assert
+        assertEquals(first, first);
+        assertNotEquals(first, second);
+        assertNotEquals(first, connection);
+        assertEquals(System.identityHashCode(first), first.hashCode());
+        verifyNoInteractions(connection);
+    }
+}
@@ -0,0 +1,86 @@
+package com.pablorodriguesb.pollhub.config;
+
+import com.pablorodriguesb.pollhub.model.User;
+import com.pablorodriguesb.pollhub.repository.UserRepository;
+import com.pablorodriguesb.pollhub.security.JwtTokenUtil;
+import com.pablorodriguesb.pollhub.service.CustomUserDetailsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// /actuator/prometheus so responde ao usuario de coleta (senha do perfil de teste)
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class MetricsEndpointSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Test
+    void prometheus_withoutCredentials_unauthorized() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void prometheus_wrongPassword_unauthorized() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "errada")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void prometheus_userToken_unauthorized() throws Exception {
+        // arrange: token valido de um usuario comum nao serve para a coleta
+        User user = new User();
+        user.setUsername("metricas");
+        user.setEmail("metricas@example.com");
+        user.setPassword("encodedPassword");
+        user.setDataCadastro(LocalDateTime.now());
+        user.setRole("ROLE_ADMIN");
+        userRepository.save(user);
+        String token = jwtTokenUtil.generateToken(
+                userDetailsService.loadUserByUsername("metricas"), "ROLE_ADMIN");
+
+        // act & assert
+        mockMvc.perform(get("/actuator/prometheus")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void prometheus_scrapeUser_ok() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "test-scrape-password")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("pollhub_votes_rejected_total")));
+    }
+
+    @Test
+    void health_stillPublic() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,178 @@
+package com.pablorodriguesb.pollhub.controller;
+
+import com.pablorodriguesb.pollhub.model.Option;
+import com.pablorodriguesb.pollhub.model.Poll;
+import com.pablorodriguesb.pollhub.model.User;
+import com.pablorodriguesb.pollhub.repository.PollRepository;
+import com.pablorodriguesb.pollhub.repository.UserRepository;
+import com.pablorodriguesb.pollhub.repository.VoteRepository;
+import com.pablorodriguesb.pollhub.security.JwtTokenUtil;
+import com.pablorodriguesb.pollhub.service.CustomUserDetailsService;
+import com.pablorodriguesb.pollhub.service.VoteTallyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// GET /api/polls/{id}/results com ETag: tag presente, 304 sem corpo, tag nova
+// depois de um voto e acesso negado antes de qualquer 304
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PollResultsETagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PollRepository pollRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private VoteTallyService voteTallyService;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    private Poll publicPoll;
+    private Poll privatePoll;
+
+    @BeforeEach
+    void setUp() {
+        voteRepository.deleteAll();
+        pollRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User creator = userRepository.save(user("criador"));
+        userRepository.save(user("eleitor"));
+        publicPoll = pollRepository.save(poll(creator, true));
+        privatePoll = pollRepository.save(poll(creator, false));
+        voteTallyService.evict(publicPoll.getId());
+        voteTallyService.evict(privatePoll.getId());
+    }
+
+    @Test
+    void getResults_returnsETag() throws Exception {
+        String etag = mockMvc.perform(get("/api/polls/{id}/results", publicPoll.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(jsonPath("$.results.length()").value(2))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+    }
+
+    @Test
+    void getResults_matchingIfNoneMatch_notModifiedWithoutBody() throws Exception {
+        // arrange
+        String etag = currentETag(publicPoll);
+
+        // act & assert
+        mockMvc.perform(get("/api/polls/{id}/results", publicPoll.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getResults_voteChangesETag() throws Exception {
+        // arrange
+        String before = currentETag(publicPoll);
+        Long optionId = publicPoll.getOptions().get(1).getId();
+
+        // act
+        mockMvc.perform(post("/api/polls/{id}/vote", publicPoll.getId())
+                        .param("optionId", optionId.toString())
+                        .header(HttpHeaders.AUTHORIZATION, bearer("eleitor")))
+                .andExpect(status().isOk());
+
+        // assert: a tag antiga volta a receber o corpo, ja com o voto
+        String after = mockMvc.perform(get("/api/polls/{id}/results", publicPoll.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[1].votes").value(1))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void getResults_privatePoll_forbiddenBeforeNotModified() throws Exception {
+        // arrange: a tag valida e conhecida, mas quem pede nao e o criador
+        String etag = mockMvc.perform(get("/api/polls/{id}/results", privatePoll.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearer("criador")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // act & assert
+        mockMvc.perform(get("/api/polls/{id}/results", privatePoll.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearer("eleitor"))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isForbidden())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    private String currentETag(Poll poll) throws Exception {
+        return mockMvc.perform(get("/api/polls/{id}/results", poll.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private String bearer(String username) {
+        return "Bearer " + jwtTokenUtil.generateToken(
+                userDetailsService.loadUserByUsername(username), "ROLE_USER");
+    }
+
+    private static Poll poll(User creator, boolean isPublic) {
+        Poll poll = new Poll();
+        poll.setTitle(isPublic ? "Enquete publica" : "Enquete privada");
+        poll.setCreatedAt(LocalDateTime.now());
+        poll.setCreatedBy(creator);
+        poll.setIsPublic(isPublic);
+        List<Option> options = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Option option = new Option();
+            option.setText("Opcao " + i);
+            option.setPoll(poll);
+            option.setVoteCount(0);
+            options.add(option);
+        }
+        poll.setOptions(options);
+        return poll;
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("encodedPassword");
+        user.setDataCadastro(LocalDateTime.now());
+        user.setRole("ROLE_USER");
+        return user;
+    }
+}
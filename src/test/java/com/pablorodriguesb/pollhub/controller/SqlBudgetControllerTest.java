@@ -0,0 +1,183 @@
+package com.pablorodriguesb.pollhub.controller;
+
+import com.pablorodriguesb.pollhub.model.Option;
+import com.pablorodriguesb.pollhub.model.Poll;
+import com.pablorodriguesb.pollhub.model.User;
+import com.pablorodriguesb.pollhub.model.Vote;
+import com.pablorodriguesb.pollhub.monitoring.SqlBudgetFilter;
+import com.pablorodriguesb.pollhub.monitoring.SqlRequestStats;
+import com.pablorodriguesb.pollhub.repository.PollRepository;
+import com.pablorodriguesb.pollhub.repository.UserRepository;
+import com.pablorodriguesb.pollhub.repository.VoteRepository;
+import com.pablorodriguesb.pollhub.security.JwtTokenUtil;
+import com.pablorodriguesb.pollhub.service.CustomUserDetailsService;
+import com.pablorodriguesb.pollhub.service.VoteTallyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// contagem de statements SQL por endpoint, medida pelo SqlBudgetFilter. no perfil
+// de teste qualquer requisicao acima de pollhub.sql.budget.max-statements ja falha;
+// aqui cada endpoint tem um limite proprio, bem abaixo do global
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SqlBudgetControllerTest {
+
+    private static final int POLLS = 10;
+    private static final int OPTIONS_PER_POLL = 4;
+    private static final int VOTERS = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PollRepository pollRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private VoteTallyService voteTallyService;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    private List<Poll> polls;
+    private Poll votedPoll;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        voteRepository.deleteAll();
+        pollRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User creator = userRepository.save(user("criador"));
+        polls = new ArrayList<>();
+        for (int i = 0; i < POLLS; i++) {
+            Poll poll = new Poll();
+            poll.setTitle("Enquete " + i);
+            poll.setCreatedAt(LocalDateTime.now().minusMinutes(i));
+            poll.setCreatedBy(creator);
+            poll.setIsPublic(true);
+            List<Option> options = new ArrayList<>();
+            for (int j = 0; j < OPTIONS_PER_POLL; j++) {
+                Option option = new Option();
+                option.setText("Opcao " + j);
+                option.setPoll(poll);
+                option.setVoteCount(0);
+                options.add(option);
+            }
+            poll.setOptions(options);
+            polls.add(poll);
+        }
+        polls = pollRepository.saveAll(polls);
+        votedPoll = polls.get(0);
+
+        // cada votante em uma opcao diferente, para expor o lazy load de opcao e usuario
+        for (int i = 0; i < VOTERS; i++) {
+            Vote vote = new Vote();
+            vote.setUser(userRepository.save(user("eleitor" + i)));
+            vote.setPoll(votedPoll);
+            vote.setOption(votedPoll.getOptions().get(i % OPTIONS_PER_POLL));
+            vote.setVotedAt(LocalDateTime.now());
+            voteRepository.save(vote);
+        }
+        voteTallyService.evict(votedPoll.getId());
+
+        token = jwtTokenUtil.generateToken(
+                userDetailsService.loadUserByUsername("criador"), "ROLE_USER");
+    }
+
+    @Test
+    void listPublicPolls() throws Exception {
+        assertStatements(get("/api/polls"), 2);
+    }
+
+    @Test
+    void listPublicPolls_authenticated() throws Exception {
+        assertStatements(authenticated(get("/api/polls")), 4);
+    }
+
+    @Test
+    void getPollById() throws Exception {
+        assertStatements(get("/api/polls/{id}", votedPoll.getId()), 3);
+    }
+
+    @Test
+    void getResults_servedFromMemoryOnceLoaded() throws Exception {
+        assertStatements(get("/api/polls/{id}/results", votedPoll.getId()), 1);
+        assertStatements(get("/api/polls/{id}/results", votedPoll.getId()), 0);
+    }
+
+    @Test
+    void getVotesByPoll() throws Exception {
+        assertStatements(authenticated(get("/api/votes/poll/{id}", votedPoll.getId())), 3);
+    }
+
+    @Test
+    void getMyVotes() throws Exception {
+        // arrange: o eleitor votou em varias enquetes
+        User voter = userRepository.findByUsernameIgnoreCase("eleitor0").orElseThrow();
+        for (Poll poll : polls) {
+            if (!poll.getId().equals(votedPoll.getId())) {
+                Vote vote = new Vote();
+                vote.setUser(voter);
+                vote.setPoll(poll);
+                vote.setOption(poll.getOptions().get(0));
+                vote.setVotedAt(LocalDateTime.now());
+                voteRepository.save(vote);
+            }
+        }
+        String voterToken = jwtTokenUtil.generateToken(
+                userDetailsService.loadUserByUsername("eleitor0"), "ROLE_USER");
+
+        // act & assert
+        assertStatements(get("/api/users/me/votes").header("Authorization", "Bearer " + voterToken), 3);
+    }
+
+    private MockHttpServletRequestBuilder authenticated(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+
+    private void assertStatements(MockHttpServletRequestBuilder request, int max) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn();
+        SqlRequestStats stats = (SqlRequestStats) result.getRequest()
+                .getAttribute(SqlBudgetFilter.STATS_ATTRIBUTE);
+        assertTrue(stats.getStatements() <= max,
+                "statements executados: " + stats.getStatements());
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("encodedPassword");
+        user.setDataCadastro(LocalDateTime.now());
+        user.setRole("ROLE_USER");
+        return user;
+    }
+}
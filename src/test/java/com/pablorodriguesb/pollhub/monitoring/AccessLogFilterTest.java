@@ -0,0 +1,153 @@
+package com.pablorodriguesb.pollhub.monitoring;
+
+import com.pablorodriguesb.pollhub.security.JwtTokenUtil;
+import com.pablorodriguesb.pollhub.security.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogFilterTest {
+
+    private static final String TOKEN = "eyJhbGciOiJIUzUxMiJ9.segredo.assinatura";
+
+    private SimpleMeterRegistry meterRegistry;
+    private MockHttpServletRequest request;
+    private List<String> lines;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        request = new MockHttpServletRequest("GET", "/api/polls");
+        request.setQueryString("page=1&token=abc&size=20");
+        request.addHeader("Authorization", "Bearer " + TOKEN);
+        lines = new ArrayList<>();
+    }
+
+    @Test
+    void sampledRequest_recordsTimingSqlAndRedactsCredentials() throws Exception {
+        // arrange
+        AccessLogWriter writer = new AccessLogWriter(meterRegistry, true, 16, 100);
+        AccessLogFilter filter = new AccessLogFilter(writer, 1.0, 1000);
+        FilterChain chain = (req, res) -> {
+            req.setAttribute(JwtTokenUtil.VERIFIED_TOKEN_ATTRIBUTE,
+                    new VerifiedToken("ana", null, null, null, null));
+            SqlRequestStats stats = new SqlRequestStats();
+            stats.statementPrepared();
+            stats.statementPrepared();
+            req.setAttribute(SqlBudgetFilter.STATS_ATTRIBUTE, stats);
+            RequestTiming.of(req).authenticated(1_000_000);
+            RequestTiming.of(req).handled(2_500_000);
+        };
+
+        // act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        int written = writer.drain(line -> lines.add(line.toString()));
+
+        // assert
+        assertEquals(1, written);
+        String line = lines.get(0);
+        assertTrue(line.contains("GET /api/polls?page=1&token=***&size=20 200 "), line);
+        assertTrue(line.contains(" auth=1.0ms handler=2.5ms sql=2/0.0ms user=ana bearer"), line);
+        assertFalse(line.contains(TOKEN));
+        assertFalse(line.contains("abc"));
+        assertEquals(1.0, meterRegistry.get("pollhub.access.log.records")
+                .tag("result", "written").functionCounter().count());
+    }
+
+    @Test
+    void notSampled_onlyServerErrorsAreRecorded() throws Exception {
+        // arrange
+        AccessLogWriter writer = new AccessLogWriter(meterRegistry, true, 16, 100);
+        AccessLogFilter filter = new AccessLogFilter(writer, 0.0, 1000);
+        MockHttpServletResponse error = new MockHttpServletResponse();
+
+        // act
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> { });
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/polls/1/vote"), error,
+                (req, res) -> error.setStatus(503));
+        writer.drain(line -> lines.add(line.toString()));
+
+        // assert
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains("POST /api/polls/1/vote 503 "), lines.get(0));
+        assertTrue(lines.get(0).endsWith("user=-"), lines.get(0));
+    }
+
+    @Test
+    void fullBuffer_dropsInsteadOfBlocking() throws Exception {
+        // arrange
+        AccessLogWriter writer = new AccessLogWriter(meterRegistry, true, 2, 100);
+        AccessLogFilter filter = new AccessLogFilter(writer, 1.0, 1000);
+
+        // act
+        for (int i = 0; i < 5; i++) {
+            filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> { });
+            request.clearAttributes();
+        }
+        int written = writer.drain(line -> lines.add(line.toString()));
+
+        // assert
+        assertEquals(2, written);
+        assertEquals(3, writer.getDropped());
+        assertEquals(3.0, meterRegistry.get("pollhub.access.log.records")
+                .tag("result", "dropped").functionCounter().count());
+    }
+
+    @Test
+    void buffer_concurrentProducers_eachRecordDrainedOnce() throws Exception {
+        // arrange
+        AccessLogBuffer buffer = new AccessLogBuffer(64);
+        int producers = 4;
+        int perProducer = 5_000;
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+
+        // act
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long base = (long) p * perProducer;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    AccessLogEntry entry;
+                    while ((entry = buffer.claim()) == null) {
+                        Thread.onSpinWait();
+                    }
+                    entry.totalNanos = base + i;
+                    buffer.publish(entry);
+                }
+            }));
+        }
+        int drained = 0;
+        while (drained < producers * perProducer) {
+            AccessLogEntry entry = buffer.poll();
+            if (entry == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            assertTrue(seen.add(entry.totalNanos), "registro repetido: " + entry.totalNanos);
+            buffer.release(entry);
+            drained++;
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // assert
+        assertEquals(producers * perProducer, seen.size());
+        assertNull(buffer.poll());
+    }
+}
@@ -0,0 +1,85 @@
+package com.pablorodriguesb.pollhub.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlBudgetFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        request = new MockHttpServletRequest("GET", "/api/polls/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/polls/{id}");
+    }
+
+    @Test
+    void countsStatementsOfTheRequest() throws Exception {
+        // arrange
+        SqlBudgetFilter filter = new SqlBudgetFilter(meterRegistry, 5, true);
+
+        // act
+        filter.doFilter(request, new MockHttpServletResponse(), statements(3));
+
+        // assert
+        SqlRequestStats stats = (SqlRequestStats) request.getAttribute(SqlBudgetFilter.STATS_ATTRIBUTE);
+        assertEquals(3, stats.getStatements());
+        assertEquals(3.0, meterRegistry.get("pollhub.sql.statements")
+                .tag("uri", "/api/polls/{id}").summary().totalAmount());
+        assertNull(meterRegistry.find("pollhub.sql.budget.exceeded").counter());
+        assertNull(SqlRequestStats.current());
+    }
+
+    @Test
+    void overBudget_failMode_throws() {
+        // arrange
+        SqlBudgetFilter filter = new SqlBudgetFilter(meterRegistry, 2, true);
+
+        // act & assert
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(request, new MockHttpServletResponse(), statements(3)));
+        assertTrue(e.getMessage().contains("/api/polls/{id}"));
+        assertNull(SqlRequestStats.current());
+    }
+
+    @Test
+    void overBudget_warnMode_countsExceeded() throws Exception {
+        // arrange
+        SqlBudgetFilter filter = new SqlBudgetFilter(meterRegistry, 2, false);
+
+        // act
+        filter.doFilter(request, new MockHttpServletResponse(), statements(3));
+
+        // assert
+        assertEquals(1.0, meterRegistry.get("pollhub.sql.budget.exceeded")
+                .tag("uri", "/api/polls/{id}").counter().count());
+    }
+
+    @Test
+    void listenerIgnoresStatementsOutsideRequest() {
+        // act & assert: sem requisicao em andamento nao ha o que contar
+        new SqlStatementListener().jdbcPrepareStatementStart();
+        assertNull(SqlRequestStats.current());
+    }
+
+    // simula o Hibernate preparando statements durante a requisicao
+    private static FilterChain statements(int count) {
+        return (request, response) -> {
+            SqlStatementListener listener = new SqlStatementListener();
+            for (int i = 0; i < count; i++) {
+                listener.jdbcPrepareStatementStart();
+                listener.jdbcExecuteStatementStart();
+                listener.jdbcExecuteStatementEnd();
+            }
+        };
+    }
+}
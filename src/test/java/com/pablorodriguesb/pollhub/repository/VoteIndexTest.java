@@ -0,0 +1,46 @@
+package com.pablorodriguesb.pollhub.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// a carga do indice de votantes (findVotersByPollIdIn) filtra so por enquete;
+// a unique (user_id, poll_id) nao atende e a consulta varreria a tabela votes
+@DataJpaTest
+@ActiveProfiles("test")
+class VoteIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void votes_haveIndexLeadingWithPollId() {
+        // act
+        List<String> columns = jdbcTemplate.queryForList(
+                "SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.INDEX_COLUMNS " +
+                        "WHERE TABLE_NAME = 'VOTES' AND INDEX_NAME = 'IDX_VOTES_POLL_USER' " +
+                        "ORDER BY ORDINAL_POSITION", String.class);
+
+        // assert
+        assertEquals(List.of("POLL_ID", "USER_ID"), columns);
+    }
+
+    @Test
+    void findVotersByPollIdIn_usesPollIndex() {
+        // act: mesma forma do SQL gerado para a consulta do repositorio
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT v.poll_id, v.user_id FROM votes v WHERE v.poll_id IN (1, 2, 3)",
+                String.class);
+
+        // assert
+        assertTrue(plan.toUpperCase(Locale.ROOT).contains("IDX_VOTES_POLL_USER"), plan);
+    }
+}
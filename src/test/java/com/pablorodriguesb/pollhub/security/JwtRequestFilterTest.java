@@ -0,0 +1,126 @@
+package com.pablorodriguesb.pollhub.security;
+
+import com.pablorodriguesb.pollhub.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtRequestFilterTest {
+
+    private static final String SECRET =
+            "test-secret-key-for-pollhub-with-at-least-512-bits-for-hs512-signing-0123456789abcdef";
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private TokenVersionCache tokenVersionCache;
+
+    private final JwtTokenUtil jwtTokenUtil = new JwtTokenUtil(SECRET, true, 900L);
+
+    @InjectMocks
+    private JwtRequestFilter jwtRequestFilter;
+
+    private AuthenticatedUser user;
+
+    private MockHttpServletRequest lastRequest;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtRequestFilter, "jwtTokenUtil", jwtTokenUtil);
+        ReflectionTestUtils.setField(jwtRequestFilter, "verifiedTokenCache",
+                new VerifiedTokenCache(new SimpleMeterRegistry(), 100));
+
+        user = new AuthenticatedUser(7L, "testuser", "encodedPassword",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void stateless_currentVersion_authenticatesFromClaimsOnly() throws Exception {
+        // arrange
+        when(tokenVersionCache.isCurrent(7L, 3)).thenReturn(true);
+
+        // act
+        filter(jwtTokenUtil.generateToken(user, "ROLE_USER"));
+
+        // assert
+        assertNotNull(lastRequest.getAttribute(JwtTokenUtil.VERIFIED_TOKEN_ATTRIBUTE));
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+        assertEquals(7L, principal.getId());
+        assertEquals("testuser", principal.getUsername());
+        assertTrue(principal.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_USER")));
+        verifyNoInteractions(userDetailsService, principalCache);
+    }
+
+    @Test
+    void stateless_revokedVersion_notAuthenticated() throws Exception {
+        // arrange
+        when(tokenVersionCache.isCurrent(7L, 3)).thenReturn(false);
+
+        // act
+        filter(jwtTokenUtil.generateToken(user, "ROLE_USER"));
+
+        // assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void statefulMode_staleVersion_notAuthenticated() throws Exception {
+        // arrange
+        JwtTokenUtil statefulTokenUtil = new JwtTokenUtil(SECRET, false, 900L);
+        ReflectionTestUtils.setField(jwtRequestFilter, "jwtTokenUtil", statefulTokenUtil);
+        AuthenticatedUser reloaded = new AuthenticatedUser(7L, "testuser", "encodedPassword",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), 4);
+        when(principalCache.get(eq("testuser"), any())).thenReturn(reloaded);
+
+        // act
+        filter(statefulTokenUtil.generateToken(user, "ROLE_USER"));
+
+        // assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(tokenVersionCache);
+    }
+
+    @Test
+    void invalidToken_notAuthenticated() throws Exception {
+        // act
+        filter("nao.e.um-token");
+
+        // assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private void filter(String token) throws Exception {
+        lastRequest = new MockHttpServletRequest();
+        lastRequest.addHeader("Authorization", "Bearer " + token);
+        jwtRequestFilter.doFilter(lastRequest, new MockHttpServletResponse(), new MockFilterChain());
+    }
+}
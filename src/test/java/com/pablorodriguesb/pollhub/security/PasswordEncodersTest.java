@@ -0,0 +1,110 @@
+package com.pablorodriguesb.pollhub.security;
+
+import com.pablorodriguesb.pollhub.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordEncodersTest {
+
+    @Test
+    void delegating_legacyBcryptHash_matchesAndNeedsUpgrade() {
+        // arrange
+        String legacy = new BCryptPasswordEncoder().encode("senha123");
+        PasswordEncoder encoder = PasswordEncoders.delegating("bcrypt", 4, 1000);
+
+        // act & assert
+        assertTrue(encoder.matches("senha123", legacy));
+        assertFalse(encoder.matches("outra", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+    }
+
+    @Test
+    void delegating_lowerBcryptStrength_needsUpgrade() {
+        // arrange
+        String weak = PasswordEncoders.delegating("bcrypt", 4, 1000).encode("senha123");
+        PasswordEncoder encoder = PasswordEncoders.delegating("bcrypt", 5, 1000);
+
+        // act & assert
+        assertTrue(weak.startsWith("{bcrypt}"));
+        assertTrue(encoder.matches("senha123", weak));
+        assertTrue(encoder.upgradeEncoding(weak));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("senha123")));
+    }
+
+    @Test
+    void delegating_algorithmSwitch_keepsOldHashesValid() {
+        // arrange
+        String bcrypt = PasswordEncoders.delegating("bcrypt", 4, 1000).encode("senha123");
+        PasswordEncoder pbkdf2 = PasswordEncoders.delegating("pbkdf2", 4, 1000);
+
+        // act
+        String rehashed = pbkdf2.encode("senha123");
+
+        // assert
+        assertTrue(pbkdf2.matches("senha123", bcrypt));
+        assertTrue(pbkdf2.upgradeEncoding(bcrypt));
+        assertTrue(rehashed.startsWith("{pbkdf2}"));
+        assertTrue(pbkdf2.matches("senha123", rehashed));
+    }
+
+    @Test
+    void delegating_unknownAlgorithm() {
+        // act & assert
+        assertThrows(IllegalArgumentException.class,
+                () -> PasswordEncoders.delegating("md5", 10, 1000));
+    }
+
+    @Test
+    void bounded_saturated_rejectsWithoutWaiting() throws Exception {
+        // arrange
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slow = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return true;
+            }
+        };
+        BoundedPasswordEncoder bounded = new BoundedPasswordEncoder(slow, 1, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            executor.submit(() -> bounded.encode("senha"));
+            assertTrue(hashing.await(5, TimeUnit.SECONDS));
+            executor.submit(() -> bounded.matches("senha", "hash"));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (bounded.queued() < 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(1, bounded.queued());
+
+            // act & assert: a unica thread de hash esta ocupada e a fila esta cheia
+            assertThrows(ServiceUnavailableException.class, () -> bounded.matches("senha", "hash"));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(bounded.matches("senha", "hash"));
+    }
+}
@@ -0,0 +1,87 @@
+package com.pablorodriguesb.pollhub.security;
+
+import com.pablorodriguesb.pollhub.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrincipalCacheTest {
+
+    private MeterRegistry meterRegistry;
+    private PrincipalCache principalCache;
+    private AtomicInteger loads;
+    private Function<String, UserDetails> loader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        principalCache = new PrincipalCache(meterRegistry, 100, 300);
+        loads = new AtomicInteger();
+        loader = username -> {
+            loads.incrementAndGet();
+            return org.springframework.security.core.userdetails.User
+                    .withUsername(username)
+                    .password("encodedPassword")
+                    .roles("USER")
+                    .build();
+        };
+    }
+
+    @Test
+    void get_loadsOncePerUsernameIgnoringCase() {
+        // act
+        principalCache.get("testuser", loader);
+        principalCache.get("TestUser", loader);
+        UserDetails details = principalCache.get("testuser", loader);
+
+        // assert
+        assertEquals("testuser", details.getUsername());
+        assertEquals(1, loads.get());
+        assertEquals(2.0, meterRegistry.get("cache.gets")
+                .tag("cache", "principals").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", "principals").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void evict_forcesReload() {
+        // arrange
+        principalCache.get("testuser", loader);
+
+        // act
+        principalCache.evict("TESTUSER");
+        principalCache.get("testuser", loader);
+
+        // assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void userUpdated_listenerEvictsPrincipal() {
+        // arrange
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("principalCache", principalCache);
+        UserCacheInvalidationListener listener =
+                new UserCacheInvalidationListener(beanFactory.getBeanProvider(PrincipalCache.class),
+                        beanFactory.getBeanProvider(TokenVersionCache.class));
+        principalCache.get("testuser", loader);
+        User user = new User();
+        user.setUsername("testuser");
+        user.setRole("ROLE_ADMIN");
+
+        // act
+        listener.onUserChanged(user);
+        principalCache.get("testuser", loader);
+
+        // assert
+        assertEquals(2, loads.get());
+    }
+}
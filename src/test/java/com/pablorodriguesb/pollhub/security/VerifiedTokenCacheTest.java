@@ -0,0 +1,101 @@
+package com.pablorodriguesb.pollhub.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private MeterRegistry meterRegistry;
+    private VerifiedTokenCache verifiedTokenCache;
+    private AtomicInteger verifications;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        verifiedTokenCache = new VerifiedTokenCache(meterRegistry, 100);
+        verifications = new AtomicInteger();
+    }
+
+    @Test
+    void get_sameToken_verifiedOnce() {
+        // arrange
+        Function<String, VerifiedToken> verifier = expiringIn(60_000);
+
+        // act
+        VerifiedToken first = verifiedTokenCache.get("token-a", verifier);
+        VerifiedToken second = verifiedTokenCache.get("token-a", verifier);
+        verifiedTokenCache.get("token-b", verifier);
+
+        // assert
+        assertSame(first, second);
+        assertEquals(2, verifications.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", "verified-tokens").tag("result", "hit").functionCounter().count());
+        assertEquals(2.0, meterRegistry.get("cache.size")
+                .tag("cache", "verified-tokens").gauge().value());
+    }
+
+    @Test
+    void get_expiredClaims_notReused() {
+        // arrange
+        Function<String, VerifiedToken> verifier = expiringIn(-1_000);
+
+        // act
+        verifiedTokenCache.get("token-a", verifier);
+        verifiedTokenCache.get("token-a", verifier);
+
+        // assert
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void get_invalidToken_notCached() {
+        // arrange
+        Function<String, VerifiedToken> verifier = token -> {
+            verifications.incrementAndGet();
+            throw new ExpiredJwtException(null, null, "expirado");
+        };
+
+        // act & assert
+        assertThrows(ExpiredJwtException.class, () -> verifiedTokenCache.get("token-a", verifier));
+        assertThrows(ExpiredJwtException.class, () -> verifiedTokenCache.get("token-a", verifier));
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void from_copiesClaimsIntoImmutableToken() {
+        // arrange
+        Claims claims = Jwts.claims().setSubject("testuser");
+        claims.put(JwtTokenUtil.USER_ID_CLAIM, 7L);
+        claims.put(JwtTokenUtil.TOKEN_VERSION_CLAIM, 2);
+        claims.put(JwtTokenUtil.ROLE_CLAIM, "ROLE_USER");
+
+        // act
+        VerifiedToken token = VerifiedToken.from(claims);
+        claims.setSubject("outro");
+        claims.put(JwtTokenUtil.ROLE_CLAIM, "ROLE_ADMIN");
+
+        // assert: alterar as claims depois nao muda o token em cache
+        assertEquals(new VerifiedToken("testuser", 7L, 2, "ROLE_USER", null), token);
+    }
+
+    private Function<String, VerifiedToken> expiringIn(long millis) {
+        return token -> {
+            verifications.incrementAndGet();
+            return VerifiedToken.from(Jwts.claims()
+                    .setSubject("testuser")
+                    .setExpiration(new Date(System.currentTimeMillis() + millis)));
+        };
+    }
+}
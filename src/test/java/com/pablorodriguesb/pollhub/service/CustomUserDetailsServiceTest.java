@@ -86,4 +86,24 @@ class CustomUserDetailsServiceTest {
             customUserDetailsService.loadUserByUsername("invalid");
         });
     }
-}
\ No newline at end of file
+
+    // teste para troca do hash apos login com algoritmo antigo
+    @Test
+    void updatePassword_savesNewHash() {
+        // arrange
+        User user = createTestUser();
+        user.setId(1L);
+        user.setRole("ROLE_USER");
+        when(userRepository.findByUsernameIgnoreCase("testuser"))
+                .thenReturn(Optional.of(user));
+        UserDetails current = customUserDetailsService.loadUserByUsername("testuser");
+
+        // act
+        UserDetails updated = customUserDetailsService.updatePassword(current, "{bcrypt}novoHash");
+
+        // assert
+        assertEquals("{bcrypt}novoHash", updated.getPassword());
+        assertEquals("{bcrypt}novoHash", user.getPassword());
+        verify(userRepository).save(user);
+    }
+}
@@ -0,0 +1,220 @@
+package com.pablorodriguesb.pollhub.service;
+
+import com.pablorodriguesb.pollhub.dto.PollPageDTO;
+import com.pablorodriguesb.pollhub.dto.PollResponseDTO;
+import com.pablorodriguesb.pollhub.exception.BadRequestException;
+import com.pablorodriguesb.pollhub.model.Option;
+import com.pablorodriguesb.pollhub.model.Poll;
+import com.pablorodriguesb.pollhub.model.User;
+import com.pablorodriguesb.pollhub.model.Vote;
+import com.pablorodriguesb.pollhub.repository.VoteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session.events.log=false"
+})
+@ActiveProfiles("test")
+@Import({PollQueryService.class, PollService.class, VoteTallyService.class,
+        PollQueryServiceTest.Config.class})
+class PollQueryServiceTest {
+
+    @TestConfiguration
+    static class Config {
+        // carga do indice na mesma thread, para enxergar os dados da transacao do teste
+        @Bean
+        PollVoterIndex pollVoterIndex(VoteRepository voteRepository) {
+            return new PollVoterIndex(voteRepository, new SimpleMeterRegistry(), 1000, Runnable::run);
+        }
+
+        @Bean
+        SimpleMeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    private static final int POLLS = 20;
+    private static final int OPTIONS_PER_POLL = 5;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PollQueryService pollQueryService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 12, 0);
+        // cada enquete tem um criador diferente para expor o lazy load de createdBy
+        for (int i = 0; i < POLLS; i++) {
+            User creator = new User();
+            creator.setUsername("user" + i);
+            creator.setEmail("user" + i + "@example.com");
+            creator.setPassword("encodedPassword");
+            creator.setDataCadastro(LocalDateTime.now());
+            creator.setRole("ROLE_USER");
+            entityManager.persist(creator);
+
+            Poll poll = new Poll();
+            poll.setTitle("Enquete " + i);
+            // duas enquetes por instante para exercitar o desempate por id
+            poll.setCreatedAt(base.minusMinutes(i / 2));
+            poll.setCreatedBy(creator);
+            poll.setIsPublic(i % 4 != 0);
+            List<Option> options = new ArrayList<>();
+            for (int j = 0; j < OPTIONS_PER_POLL; j++) {
+                Option option = new Option();
+                option.setText("Opcao " + j);
+                option.setPoll(poll);
+                option.setVoteCount(j);
+                options.add(option);
+            }
+            poll.setOptions(options);
+            entityManager.persist(poll);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getPublicPolls_firstPage_atMostTwoStatements() {
+        // act
+        PollPageDTO page = pollQueryService.getPublicPolls(null, 100, null);
+
+        // assert
+        List<PollResponseDTO> polls = page.getItems();
+        assertEquals(15, polls.size());
+        assertNull(page.getNextCursor());
+        assertTrue(polls.stream().allMatch(PollResponseDTO::getPublicFlag));
+        assertTrue(polls.stream().allMatch(p -> p.getCreatedBy().startsWith("user")));
+        assertTrue(polls.stream().allMatch(p -> p.getOptions().size() == OPTIONS_PER_POLL));
+        assertEquals(4, polls.get(0).getOptions().stream()
+                .mapToInt(o -> o.getVoteCount()).max().orElseThrow());
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "statements executados: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getPublicPolls_walksAllPagesWithConstantCost() {
+        // arrange
+        List<PollResponseDTO> all = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+
+        // act
+        do {
+            statistics.clear();
+            PollPageDTO page = pollQueryService.getPublicPolls(cursor, 4, null);
+            assertTrue(statistics.getPrepareStatementCount() <= 2,
+                    "statements executados: " + statistics.getPrepareStatementCount());
+            all.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // assert
+        assertEquals(4, pages);
+        assertEquals(15, all.size());
+        assertEquals(15, all.stream().map(PollResponseDTO::getId).distinct().count());
+        for (int i = 1; i < all.size(); i++) {
+            PollResponseDTO previous = all.get(i - 1);
+            PollResponseDTO current = all.get(i);
+            assertTrue(previous.getCreatedAt().isAfter(current.getCreatedAt())
+                    || (previous.getCreatedAt().isEqual(current.getCreatedAt())
+                    && previous.getId() > current.getId()));
+        }
+    }
+
+    @Test
+    void getPublicPolls_votedByMe_servedFromIndexOnceWarm() {
+        // arrange
+        User viewer = entityManager.createQuery(
+                        "SELECT u FROM User u WHERE u.username = 'user1'", User.class)
+                .getSingleResult();
+        Poll voted = entityManager.createQuery(
+                        "SELECT p FROM Poll p WHERE p.title = 'Enquete 2'", Poll.class)
+                .getSingleResult();
+        Vote vote = new Vote();
+        vote.setUser(viewer);
+        vote.setPoll(voted);
+        vote.setOption(voted.getOptions().get(0));
+        entityManager.persist(vote);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // act: enquetes frias custam uma consulta do usuario e a carga do indice
+        PollPageDTO cold = pollQueryService.getPublicPolls(null, 100, viewer.getId());
+        long coldStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+        PollPageDTO warm = pollQueryService.getPublicPolls(null, 100, viewer.getId());
+
+        // assert
+        assertEquals(4, coldStatements);
+        assertTrue(statistics.getPrepareStatementCount() <= 2,
+                "statements executados: " + statistics.getPrepareStatementCount());
+        for (PollPageDTO page : List.of(cold, warm)) {
+            for (PollResponseDTO poll : page.getItems()) {
+                assertEquals(poll.getId().equals(voted.getId()), poll.getVotedByMe());
+            }
+        }
+    }
+
+    @Test
+    void getPublicPolls_anonymous_noVotedByMe() {
+        // act
+        PollPageDTO page = pollQueryService.getPublicPolls(null, 100, null);
+
+        // assert
+        assertTrue(page.getItems().stream().allMatch(p -> p.getVotedByMe() == null));
+    }
+
+    @Test
+    void getPollsByUser_onlyCreatorPolls() {
+        // arrange
+        User creator = entityManager.createQuery(
+                        "SELECT u FROM User u WHERE u.username = 'user0'", User.class)
+                .getSingleResult();
+
+        // act
+        PollPageDTO page = pollQueryService.getPollsByUser(creator, null, 10, null);
+
+        // assert
+        assertEquals(1, page.getItems().size());
+        assertEquals("user0", page.getItems().get(0).getCreatedBy());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getPublicPolls_invalidCursor() {
+        // act & assert
+        assertThrows(BadRequestException.class,
+                () -> pollQueryService.getPublicPolls("nao-e-um-cursor", 10, null));
+    }
+}
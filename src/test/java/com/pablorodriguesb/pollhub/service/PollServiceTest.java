@@ -1,14 +1,12 @@
 package com.pablorodriguesb.pollhub.service;
 
 import com.pablorodriguesb.pollhub.dto.PollResponseDTO;
-import com.pablorodriguesb.pollhub.exception.BadRequestException;
+import com.pablorodriguesb.pollhub.dto.PollResultDTO;
 import com.pablorodriguesb.pollhub.exception.ResourceNotFoundException;
 import com.pablorodriguesb.pollhub.model.Option;
 import com.pablorodriguesb.pollhub.model.Poll;
 import com.pablorodriguesb.pollhub.model.User;
-import com.pablorodriguesb.pollhub.model.Vote;
 import com.pablorodriguesb.pollhub.repository.PollRepository;
-import com.pablorodriguesb.pollhub.repository.VoteRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -32,7 +30,10 @@ class PollServiceTest {
     private PollRepository pollRepository;
 
     @Mock
-    private VoteRepository voteRepository;
+    private VoteTallyService voteTallyService;
+
+    @Mock
+    private PollVoterIndex pollVoterIndex;
 
     @InjectMocks
     private PollService pollService;
@@ -156,78 +157,27 @@ class PollServiceTest {
         verify(pollRepository).findById(2L);
     }
 
-    @Test
-    void vote_success() {
-        // arrange
-        when(pollRepository.findById(1L)).thenReturn(Optional.of(poll));
-        when(voteRepository.existsByPollAndUser(poll, user)).thenReturn(false);
-
-        // act
-        pollService.vote(1L, option.getId(), user);
-
-        // assert
-        verify(pollRepository).findById(1L);
-        verify(voteRepository).existsByPollAndUser(poll, user);
-        verify(voteRepository).save(any(Vote.class));
-    }
-
-    @Test
-    void vote_alreadyVoted() {
-        // arrange
-        when(pollRepository.findById(1L)).thenReturn(Optional.of(poll));
-        when(voteRepository.existsByPollAndUser(poll, user)).thenReturn(true);
-
-        // act & assert
-        assertThrows(BadRequestException.class, () -> pollService.vote(1L, option.getId(), user));
-        verify(voteRepository, never()).save(any());
-    }
-
-    @Test
-    void vote_pollNotFound() {
-        // arrange
-        when(pollRepository.findById(99L)).thenReturn(Optional.empty());
-
-        // act & assert
-        assertThrows(ResourceNotFoundException.class, () -> pollService.vote(99L, option.getId(), user));
-        verify(voteRepository, never()).save(any());
-    }
-
-    @Test
-    void vote_optionNotFound() {
-        // arrange
-        when(pollRepository.findById(1L)).thenReturn(Optional.of(poll));
-        // Remove todas as opções para simular não encontrado
-        poll.setOptions(List.of());
-
-        // act & assert
-        assertThrows(ResourceNotFoundException.class, () -> pollService.vote(1L, 999L, user));
-        verify(voteRepository, never()).save(any());
-    }
-
     @Test
     void getResults_success() {
         // arrange
-        when(pollRepository.findById(1L)).thenReturn(Optional.of(poll));
-        when(voteRepository.countByOption(option)).thenReturn(5);
+        PollResultDTO expected = new PollResultDTO();
+        expected.setPollId(poll.getId());
+        when(voteTallyService.getResults(1L)).thenReturn(expected);
 
         // act
         var result = pollService.getResults(1L);
 
         // assert
-        assertNotNull(result);
-        assertEquals(poll.getId(), result.getPollId());
-        assertEquals(poll.getTitle(), result.getTitle());
-        assertEquals(1, result.getResults().size());
-        assertEquals(option.getId(), result.getResults().get(0).getOptionId());
-        assertEquals(5, result.getResults().get(0).getVotes());
-        verify(pollRepository).findById(1L);
-        verify(voteRepository).countByOption(option);
+        assertSame(expected, result);
+        verify(voteTallyService).getResults(1L);
+        verifyNoInteractions(pollRepository);
     }
 
     @Test
     void getResults_pollNotFound() {
         // arrange
-        when(pollRepository.findById(99L)).thenReturn(Optional.empty());
+        when(voteTallyService.getResults(99L))
+                .thenThrow(new ResourceNotFoundException("Enquete não encontrada"));
 
         // act & assert
         assertThrows(ResourceNotFoundException.class, () -> pollService.getResults(99L));
@@ -236,7 +186,7 @@ class PollServiceTest {
     @Test
     void convertToPollDTO_success() {
         // arrange
-        when(voteRepository.countByOption(option)).thenReturn(3);
+        option.setVoteCount(3);
 
         // act
         PollResponseDTO dto = pollService.convertToPollDTO(poll);
@@ -251,6 +201,6 @@ class PollServiceTest {
         assertEquals(1, dto.getOptions().size());
         assertEquals(option.getId(), dto.getOptions().get(0).getId());
         assertEquals(3, dto.getOptions().get(0).getVoteCount());
-        verify(voteRepository).countByOption(option);
+        verifyNoInteractions(pollRepository);
     }
 }
\ No newline at end of file
@@ -0,0 +1,169 @@
+package com.pablorodriguesb.pollhub.service;
+
+import com.pablorodriguesb.pollhub.event.VoteCastEvent;
+import com.pablorodriguesb.pollhub.repository.PollVoter;
+import com.pablorodriguesb.pollhub.repository.VoteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PollVoterIndexTest {
+
+    @Mock
+    private VoteRepository voteRepository;
+
+    private final List<Runnable> pendingLoads = new ArrayList<>();
+
+    private PollVoterIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // a carga em segundo plano fica retida e e executada pelo teste
+        index = new PollVoterIndex(voteRepository, new SimpleMeterRegistry(), 100, pendingLoads::add);
+    }
+
+    @Test
+    void votedPolls_coldPolls_singleQueryThenServedFromBitmap() {
+        // arrange
+        when(voteRepository.findPollIdsVotedBy(7L, List.of(1L, 2L))).thenReturn(List.of(2L));
+        when(voteRepository.findVotersByPollIdIn(anyCollection()))
+                .thenReturn(List.of(voter(2L, 7L), voter(1L, 8L)));
+
+        // act
+        Set<Long> cold = index.votedPolls(7L, List.of(1L, 2L));
+        pendingLoads.forEach(Runnable::run);
+        Set<Long> warm = index.votedPolls(7L, List.of(1L, 2L));
+
+        // assert
+        assertEquals(Set.of(2L), cold);
+        assertEquals(Set.of(2L), warm);
+        assertEquals(Set.of(1L), index.votedPolls(8L, List.of(1L, 2L)));
+        verify(voteRepository, times(1)).findPollIdsVotedBy(anyLong(), anyCollection());
+        verify(voteRepository, times(1)).findVotersByPollIdIn(anyCollection());
+    }
+
+    @Test
+    void votedPolls_loadInFlight_notScheduledAgain() {
+        // arrange
+        when(voteRepository.findPollIdsVotedBy(anyLong(), anyCollection())).thenReturn(List.of());
+
+        // act
+        index.votedPolls(7L, List.of(1L, 2L));
+        index.votedPolls(8L, List.of(1L, 2L));
+        index.votedPolls(9L, List.of(2L, 3L));
+
+        // assert: a terceira leitura so agenda a enquete 3
+        assertEquals(2, pendingLoads.size());
+        pendingLoads.forEach(Runnable::run);
+        verify(voteRepository).findVotersByPollIdIn(Set.of(1L, 2L));
+        verify(voteRepository).findVotersByPollIdIn(Set.of(3L));
+    }
+
+    @Test
+    void votedPolls_failedLoad_retriedOnNextRead() {
+        // arrange
+        when(voteRepository.findPollIdsVotedBy(anyLong(), anyCollection())).thenReturn(List.of());
+        when(voteRepository.findVotersByPollIdIn(anyCollection()))
+                .thenThrow(new DataAccessResourceFailureException("conexão perdida"))
+                .thenReturn(List.of());
+        index.votedPolls(7L, List.of(1L));
+        pendingLoads.remove(0).run();
+
+        // act
+        index.votedPolls(7L, List.of(1L));
+        pendingLoads.forEach(Runnable::run);
+
+        // assert
+        assertTrue(index.isLoaded(1L));
+        verify(voteRepository, times(2)).findVotersByPollIdIn(anyCollection());
+    }
+
+    @Test
+    void votedPolls_loaderQueueFull_answersFromQuery() {
+        // arrange
+        PollVoterIndex rejecting = new PollVoterIndex(voteRepository, new SimpleMeterRegistry(), 100,
+                task -> {
+                    throw new RejectedExecutionException("fila cheia");
+                });
+        when(voteRepository.findPollIdsVotedBy(7L, List.of(1L))).thenReturn(List.of(1L));
+
+        // act
+        Set<Long> first = rejecting.votedPolls(7L, List.of(1L));
+        rejecting.load(List.of(1L));
+
+        // assert: a carga recusada nao fica presa como em andamento
+        assertEquals(Set.of(1L), first);
+        assertTrue(rejecting.isLoaded(1L));
+    }
+
+    @Test
+    void onVoteCast_updatesLoadedPoll() {
+        // arrange
+        index.load(List.of(1L));
+
+        // act
+        index.onVoteCast(new VoteCastEvent(1L, 10L, 7L, 1));
+
+        // assert
+        assertEquals(Set.of(1L), index.votedPolls(7L, List.of(1L)));
+        verify(voteRepository, never()).findPollIdsVotedBy(anyLong(), anyCollection());
+    }
+
+    @Test
+    void load_keepsVotesCommittedDuringLoad() {
+        // arrange: o voto confirma enquanto a consulta de carga esta em andamento
+        when(voteRepository.findVotersByPollIdIn(anyCollection())).thenAnswer(invocation -> {
+            index.onVoteCast(new VoteCastEvent(1L, 10L, 9L, 1));
+            return List.of(voter(1L, 7L));
+        });
+
+        // act
+        index.load(List.of(1L));
+
+        // assert
+        assertTrue(index.isLoaded(1L));
+        assertEquals(Set.of(1L), index.votedPolls(9L, List.of(1L)));
+        assertEquals(Set.of(1L), index.votedPolls(7L, List.of(1L)));
+    }
+
+    @Test
+    void evict_makesPollColdAgain() {
+        // arrange
+        index.load(List.of(1L));
+
+        // act
+        index.evict(1L);
+
+        // assert
+        assertFalse(index.isLoaded(1L));
+    }
+
+    private PollVoter voter(Long pollId, Long userId) {
+        return new PollVoter() {
+            @Override
+            public Long getPollId() {
+                return pollId;
+            }
+
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+        };
+    }
+}
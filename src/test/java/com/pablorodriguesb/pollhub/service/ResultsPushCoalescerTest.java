@@ -0,0 +1,118 @@
+package com.pablorodriguesb.pollhub.service;
+
+import com.pablorodriguesb.pollhub.dto.PollResultDTO;
+import com.pablorodriguesb.pollhub.event.PollResultsUpdatedEvent;
+import com.pablorodriguesb.pollhub.event.VoteCastEvent;
+import com.pablorodriguesb.pollhub.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResultsPushCoalescerTest {
+
+    @Mock
+    private VoteTallyService voteTallyService;
+
+    @Mock
+    private StompResultsSubscriptions stompSubscriptions;
+
+    @Mock
+    private ResultsStreamService resultsStreamService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ResultsPushCoalescer coalescer;
+
+    @Test
+    void flush_burstOfVotes_publishesSingleUpdatePerPoll() {
+        // arrange
+        PollResultDTO results = new PollResultDTO();
+        results.setPollId(1L);
+        results.setResults(List.of());
+        when(voteTallyService.getVersionedResults(1L))
+                .thenReturn(new VoteTallyService.VersionedResults(new ResultsVersion(1L, 1000L), results));
+        when(voteTallyService.isPublic(1L)).thenReturn(true);
+        when(stompSubscriptions.hasSubscribers(1L)).thenReturn(true);
+
+        for (int i = 0; i < 1000; i++) {
+            coalescer.onVoteCast(new VoteCastEvent(1L, i % 3 == 0 ? 20L : 10L, (long) i, i + 1));
+        }
+
+        // act
+        coalescer.flush();
+        coalescer.flush();
+
+        // assert
+        ArgumentCaptor<PollResultsUpdatedEvent> captor =
+                ArgumentCaptor.forClass(PollResultsUpdatedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(captor.capture());
+        PollResultsUpdatedEvent event = captor.getValue();
+        assertTrue(event.publicPoll());
+        assertEquals(1L, event.update().getPollId());
+        assertEquals(Map.of(10L, 666L, 20L, 334L), event.update().getDeltas());
+        assertEquals(new ResultsVersion(1L, 1000L), event.version());
+    }
+
+    @Test
+    void flush_privatePoll_flaggedAsNotPublic() {
+        // arrange
+        PollResultDTO results = new PollResultDTO();
+        results.setResults(List.of());
+        when(voteTallyService.getVersionedResults(2L))
+                .thenReturn(new VoteTallyService.VersionedResults(new ResultsVersion(1L, 1L), results));
+        when(voteTallyService.isPublic(2L)).thenReturn(false);
+        // so um assinante SSE
+        when(resultsStreamService.subscriberCount(2L)).thenReturn(1);
+        coalescer.onVoteCast(new VoteCastEvent(2L, 10L, 1L, 1));
+
+        // act
+        coalescer.flush();
+
+        // assert
+        ArgumentCaptor<PollResultsUpdatedEvent> captor =
+                ArgumentCaptor.forClass(PollResultsUpdatedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertFalse(captor.getValue().publicPoll());
+    }
+
+    @Test
+    void flush_deletedPoll_skipsUpdate() {
+        // arrange
+        when(stompSubscriptions.hasSubscribers(3L)).thenReturn(true);
+        when(voteTallyService.getVersionedResults(3L)).thenThrow(new ResourceNotFoundException("Enquete não encontrada"));
+        coalescer.onVoteCast(new VoteCastEvent(3L, 10L, 1L, 1));
+
+        // act
+        coalescer.flush();
+
+        // assert
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void flush_pollWithoutSubscribers_skipsResultsRefresh() {
+        // arrange
+        coalescer.onVoteCast(new VoteCastEvent(4L, 10L, 1L, 1));
+
+        // act
+        coalescer.flush();
+        coalescer.flush();
+
+        // assert
+        verifyNoInteractions(voteTallyService, eventPublisher);
+    }
+}
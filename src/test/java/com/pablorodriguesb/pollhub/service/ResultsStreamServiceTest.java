@@ -0,0 +1,139 @@
+package com.pablorodriguesb.pollhub.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pablorodriguesb.pollhub.dto.PollResultDTO;
+import com.pablorodriguesb.pollhub.dto.PollResultsUpdateDTO;
+import com.pablorodriguesb.pollhub.event.PollResultsUpdatedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResultsStreamServiceTest {
+
+    @Mock
+    private VoteTallyService voteTallyService;
+
+    private ResultsStreamService resultsStreamService;
+
+    @BeforeEach
+    void setUp() {
+        resultsStreamService = new ResultsStreamService(voteTallyService, new ObjectMapper(), 60000L, Runnable::run);
+    }
+
+    @Test
+    void subscribe_sharesOnePublisherPerPoll() {
+        // arrange
+        when(voteTallyService.canView(1L, null)).thenReturn(true);
+        when(voteTallyService.getVersionedResults(1L)).thenReturn(snapshot(new ResultsVersion(1L, 0L)));
+
+        // act
+        resultsStreamService.subscribe(1L, null);
+        resultsStreamService.subscribe(1L, null);
+
+        // assert
+        assertEquals(2, resultsStreamService.subscriberCount(1L));
+        assertEquals(0, resultsStreamService.subscriberCount(2L));
+    }
+
+    @Test
+    void subscribe_privatePollNotCreator() {
+        // arrange
+        when(voteTallyService.canView(1L, "outro")).thenReturn(false);
+
+        // act & assert
+        assertThrows(AccessDeniedException.class,
+                () -> resultsStreamService.subscribe(1L, "outro"));
+        assertEquals(0, resultsStreamService.subscriberCount(1L));
+    }
+
+    @Test
+    void remove_lastSubscriber_dropsPublisher() {
+        // arrange
+        when(voteTallyService.canView(1L, null)).thenReturn(true);
+        when(voteTallyService.getVersionedResults(1L)).thenReturn(snapshot(new ResultsVersion(1L, 0L)));
+        SseEmitter first = resultsStreamService.subscribe(1L, null);
+        SseEmitter second = resultsStreamService.subscribe(1L, null);
+
+        // act
+        resultsStreamService.remove(1L, first);
+        int afterFirst = resultsStreamService.subscriberCount(1L);
+        resultsStreamService.remove(1L, second);
+
+        // assert
+        assertEquals(1, afterFirst);
+        assertEquals(0, resultsStreamService.subscriberCount(1L));
+    }
+
+    @Test
+    void onResultsUpdated_withoutSubscribers_doesNothing() {
+        // arrange
+        PollResultsUpdateDTO update = new PollResultsUpdateDTO();
+        update.setPollId(3L);
+        update.setDeltas(Map.of(10L, 1L));
+        update.setResults(List.of());
+
+        // act
+        resultsStreamService.onResultsUpdated(new PollResultsUpdatedEvent(update, true, new ResultsVersion(1L, 1L)));
+
+        // assert
+        assertEquals(0, resultsStreamService.subscriberCount(3L));
+        verifyNoInteractions(voteTallyService);
+    }
+
+    @Test
+    void onResultsUpdated_dropsUpdatesOlderThanSnapshot() {
+        // arrange
+        when(voteTallyService.canView(1L, null)).thenReturn(true);
+        when(voteTallyService.getVersionedResults(1L)).thenReturn(snapshot(new ResultsVersion(2L, 5L)));
+        SseEmitter emitter = resultsStreamService.subscribe(1L, null);
+        // emitter encerrado: qualquer envio falha e remove o assinante
+        emitter.complete();
+
+        // act
+        resultsStreamService.onResultsUpdated(new PollResultsUpdatedEvent(update(1L), true, new ResultsVersion(2L, 5L)));
+        resultsStreamService.onResultsUpdated(new PollResultsUpdatedEvent(update(1L), true, new ResultsVersion(1L, 9L)));
+        int afterStale = resultsStreamService.subscriberCount(1L);
+        resultsStreamService.onResultsUpdated(new PollResultsUpdatedEvent(update(1L), true, new ResultsVersion(2L, 6L)));
+
+        // assert
+        assertEquals(1, afterStale);
+        assertEquals(0, resultsStreamService.subscriberCount(1L));
+    }
+
+    @Test
+    void heartbeat_sentRegardlessOfVersion() {
+        // arrange
+        when(voteTallyService.canView(1L, null)).thenReturn(true);
+        when(voteTallyService.getVersionedResults(1L)).thenReturn(snapshot(new ResultsVersion(1L, 0L)));
+        resultsStreamService.subscribe(1L, null).complete();
+
+        // act
+        resultsStreamService.heartbeat();
+
+        // assert
+        assertEquals(0, resultsStreamService.subscriberCount(1L));
+    }
+
+    private static VoteTallyService.VersionedResults snapshot(ResultsVersion version) {
+        return new VoteTallyService.VersionedResults(version, new PollResultDTO());
+    }
+
+    private static PollResultsUpdateDTO update(Long pollId) {
+        PollResultsUpdateDTO update = new PollResultsUpdateDTO();
+        update.setPollId(pollId);
+        update.setDeltas(Map.of(10L, 1L));
+        update.setResults(List.of());
+        return update;
+    }
+}
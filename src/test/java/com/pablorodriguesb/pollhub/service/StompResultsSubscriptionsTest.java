@@ -0,0 +1,78 @@
+package com.pablorodriguesb.pollhub.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StompResultsSubscriptionsTest {
+
+    private final StompResultsSubscriptions subscriptions = new StompResultsSubscriptions();
+
+    @Test
+    void subscribeAndUnsubscribe_tracksPoll() {
+        // act
+        subscriptions.onSubscribe(new SessionSubscribeEvent(this, subscribe("s1", "sub-0", "/topic/polls/1/results")));
+        subscriptions.onSubscribe(new SessionSubscribeEvent(this, subscribe("s2", "sub-0", "/topic/polls/1/results")));
+        subscriptions.onUnsubscribe(new SessionUnsubscribeEvent(this, unsubscribe("s1", "sub-0")));
+
+        // assert
+        assertTrue(subscriptions.hasSubscribers(1L));
+
+        // act
+        subscriptions.onUnsubscribe(new SessionUnsubscribeEvent(this, unsubscribe("s2", "sub-0")));
+
+        // assert
+        assertFalse(subscriptions.hasSubscribers(1L));
+    }
+
+    @Test
+    void disconnect_dropsAllSessionSubscriptions() {
+        // arrange
+        subscriptions.onSubscribe(new SessionSubscribeEvent(this, subscribe("s1", "sub-0", "/topic/polls/1/results")));
+        subscriptions.onSubscribe(new SessionSubscribeEvent(this, subscribe("s1", "sub-1", "/topic/polls/2/results")));
+
+        // act
+        Message<byte[]> disconnect = message(StompHeaderAccessor.create(StompCommand.DISCONNECT), "s1");
+        subscriptions.onDisconnect(new SessionDisconnectEvent(this, disconnect, "s1", CloseStatus.NORMAL));
+
+        // assert
+        assertFalse(subscriptions.hasSubscribers(1L));
+        assertFalse(subscriptions.hasSubscribers(2L));
+    }
+
+    @Test
+    void subscribe_otherDestination_ignored() {
+        // act
+        subscriptions.onSubscribe(new SessionSubscribeEvent(this, subscribe("s1", "sub-0", "/topic/polls/1/other")));
+
+        // assert
+        assertFalse(subscriptions.hasSubscribers(1L));
+    }
+
+    private static Message<byte[]> subscribe(String sessionId, String subscriptionId, String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        return message(accessor, sessionId);
+    }
+
+    private static Message<byte[]> unsubscribe(String sessionId, String subscriptionId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.UNSUBSCRIBE);
+        accessor.setSubscriptionId(subscriptionId);
+        return message(accessor, sessionId);
+    }
+
+    private static Message<byte[]> message(StompHeaderAccessor accessor, String sessionId) {
+        accessor.setSessionId(sessionId);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
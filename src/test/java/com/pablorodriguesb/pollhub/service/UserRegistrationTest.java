@@ -0,0 +1,170 @@
+package com.pablorodriguesb.pollhub.service;
+
+import com.pablorodriguesb.pollhub.exception.UserAlreadyExistsException;
+import com.pablorodriguesb.pollhub.model.User;
+import com.pablorodriguesb.pollhub.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session.events.log=false"
+})
+@ActiveProfiles("test")
+@Import({UserService.class, UserColumnsBackfill.class, UserRegistrationTest.Config.class})
+// cada cadastro roda na propria transacao, como na aplicacao
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserRegistrationTest {
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return NoOpPasswordEncoder.getInstance();
+        }
+    }
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserColumnsBackfill userColumnsBackfill;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void registerUser_singleInsert() {
+        // act
+        User user = userService.registerUser(user("NovoUser", "Novo@Example.com"));
+
+        // assert
+        assertNotNull(user.getId());
+        assertEquals("novouser", user.getUsernameLower());
+        assertEquals("novo@example.com", user.getEmailLower());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+    }
+
+    @Test
+    void registerUser_usernameDifferentCase_rejected() {
+        // arrange
+        userService.registerUser(user("testuser", "test@example.com"));
+
+        // act & assert
+        UserAlreadyExistsException ex = assertThrows(UserAlreadyExistsException.class,
+                () -> userService.registerUser(user("TestUser", "outro@example.com")));
+        assertEquals("Nome de usuário já está em uso.", ex.getMessage());
+        assertEquals(1, userRepository.count());
+    }
+
+    @Test
+    void registerUser_emailDifferentCase_rejected() {
+        // arrange
+        userService.registerUser(user("testuser", "test@example.com"));
+
+        // act & assert
+        UserAlreadyExistsException ex = assertThrows(UserAlreadyExistsException.class,
+                () -> userService.registerUser(user("outro", "TEST@example.com")));
+        assertEquals("Email já está em uso.", ex.getMessage());
+    }
+
+    @Test
+    void findByIgnoreCase_usesNormalizedColumns() {
+        // arrange
+        userService.registerUser(user("testuser", "test@example.com"));
+
+        // act & assert
+        assertTrue(userRepository.findByUsernameIgnoreCase("TESTUSER").isPresent());
+        assertTrue(userRepository.findByEmailIgnoreCase("Test@Example.com").isPresent());
+        assertTrue(userRepository.existsByUsernameIgnoreCase("TestUser"));
+        assertFalse(userRepository.existsByEmailIgnoreCase("nao@example.com"));
+    }
+
+    @Test
+    void backfill_fillsLegacyRows() {
+        // arrange
+        userService.registerUser(user("Legado", "Legado@example.com"));
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        entityManager.createNativeQuery(
+                "UPDATE users SET username_lower = NULL, email_lower = NULL").executeUpdate();
+        entityManager.getTransaction().commit();
+        entityManager.close();
+
+        // act
+        userColumnsBackfill.backfill();
+
+        // assert
+        assertTrue(userRepository.findByUsernameIgnoreCase("legado").isPresent());
+        assertTrue(userRepository.findByEmailIgnoreCase("legado@example.com").isPresent());
+    }
+
+    @Test
+    void users_uniqueOnlyOnNormalizedColumns() {
+        // act
+        List<String> uniqueColumns = jdbcTemplate.queryForList(
+                "SELECT c.COLUMN_NAME FROM INFORMATION_SCHEMA.INDEXES i " +
+                        "JOIN INFORMATION_SCHEMA.INDEX_COLUMNS c " +
+                        "ON c.INDEX_SCHEMA = i.INDEX_SCHEMA AND c.INDEX_NAME = i.INDEX_NAME " +
+                        "WHERE i.TABLE_NAME = 'USERS' AND i.INDEX_TYPE_NAME = 'UNIQUE INDEX' " +
+                        "ORDER BY c.COLUMN_NAME", String.class);
+
+        // assert: username e email sem unique propria, que diferenciaria maiusculas
+        assertEquals(List.of("EMAIL_LOWER", "USERNAME_LOWER"), uniqueColumns);
+    }
+
+    @Test
+    void backfill_runsBeforeTheWebServerStarts() {
+        // assert: fases menores sobem antes; o conector abre na fase do WebServerStartStopLifecycle
+        assertTrue(userColumnsBackfill.getPhase()
+                < WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1024);
+        assertTrue(userColumnsBackfill.isRunning());
+    }
+
+    private User user(String username, String email) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setPassword("senha123");
+        user.setRole("ROLE_USER");
+        user.setDataCadastro(LocalDateTime.now());
+        return user;
+    }
+}
@@ -2,17 +2,21 @@ package com.pablorodriguesb.pollhub.service;
 
 import com.pablorodriguesb.pollhub.dto.UserDTO;
 import com.pablorodriguesb.pollhub.dto.UserResponseDTO;
+import com.pablorodriguesb.pollhub.exception.BadRequestException;
 import com.pablorodriguesb.pollhub.exception.UserAlreadyExistsException;
 import com.pablorodriguesb.pollhub.model.User;
 import com.pablorodriguesb.pollhub.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.sql.SQLException;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -54,11 +58,8 @@ class UserServiceTest {
         String senhaOriginal = testUser.getPassword(); // string com a senha devido ao encode
 
         // arrange
-        when(userRepository.existsByEmailIgnoreCase(anyString())).thenReturn(false);
-
-        when(userRepository.existsByUsernameIgnoreCase(anyString())).thenReturn(false);
         when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(testUser);
 
         // act
         User result = userService.registerUser(testUser);
@@ -67,7 +68,9 @@ class UserServiceTest {
         assertNotNull(result);
         assertEquals("testuser", result.getUsername());
         verify(passwordEncoder).encode(senhaOriginal);
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).saveAndFlush(any(User.class));
+        verify(userRepository, never()).existsByEmailIgnoreCase(anyString());
+        verify(userRepository, never()).existsByUsernameIgnoreCase(anyString());
     }
 
     @Test
@@ -113,28 +116,69 @@ class UserServiceTest {
     @Test
     void registerUser_EmailAlreadyExists() {
         //arrange
-        when(userRepository.existsByEmailIgnoreCase(anyString())).thenReturn(true);
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(duplicate(User.UK_EMAIL_LOWER));
 
         // act e assert
-        assertThrows(UserAlreadyExistsException.class, () -> {
+        UserAlreadyExistsException ex = assertThrows(UserAlreadyExistsException.class, () -> {
             userService.registerUser(testUser);
         });
-        verify(userRepository, never()).save(any());
+        assertEquals("Email já está em uso.", ex.getMessage());
     }
 
     // outro cenario de erro para username existente
     @Test
     void registerUser_UsernameAlreadyExists() {
         //arrange
-        when(userRepository.existsByEmailIgnoreCase(anyString())).thenReturn(false);
-
-        when(userRepository.existsByUsernameIgnoreCase(anyString()))
-                .thenReturn(true);
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(duplicate(User.UK_USERNAME_LOWER));
 
         // act e assert
-        assertThrows(UserAlreadyExistsException.class, () -> {
+        UserAlreadyExistsException ex = assertThrows(UserAlreadyExistsException.class, () -> {
             userService.registerUser(testUser);
         });
+        assertEquals("Nome de usuário já está em uso.", ex.getMessage());
+        verify(userRepository, never()).existsByEmailIgnoreCase(anyString());
+    }
+
+    @Test
+    void changeRole_grantsKioskAndRevokesTokens() {
+        // arrange
+        testUser.setTokenVersion(3);
+        when(userRepository.findByUsernameIgnoreCase("testuser")).thenReturn(Optional.of(testUser));
+
+        // act
+        userService.changeRole("testuser", "kiosk");
+
+        // assert
+        assertEquals("ROLE_KIOSK", testUser.getRole());
+        assertEquals(4, testUser.getTokenVersion());
+        verify(userRepository).save(testUser);
+    }
+
+    @Test
+    void changeRole_adminNotAssignable() {
+        // act e assert
+        assertThrows(BadRequestException.class, () -> userService.changeRole("testuser", "ADMIN"));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void changeRole_adminNotDemoted() {
+        // arrange
+        testUser.setRole("ROLE_ADMIN");
+        when(userRepository.findByUsernameIgnoreCase("testuser")).thenReturn(Optional.of(testUser));
+
+        // act e assert
+        assertThrows(BadRequestException.class, () -> userService.changeRole("testuser", "USER"));
+        assertEquals("ROLE_ADMIN", testUser.getRole());
         verify(userRepository, never()).save(any());
     }
+
+    private DataIntegrityViolationException duplicate(String constraint) {
+        return new DataIntegrityViolationException("duplicado",
+                new ConstraintViolationException("duplicado", new SQLException(), constraint));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,253 @@
+package com.pablorodriguesb.pollhub.service;
+
+import com.pablorodriguesb.pollhub.dto.VoteBatchEntryDTO;
+import com.pablorodriguesb.pollhub.dto.VoteBatchResponseDTO;
+import com.pablorodriguesb.pollhub.dto.VoteBatchResultDTO;
+import com.pablorodriguesb.pollhub.dto.VoteBatchStatus;
+import com.pablorodriguesb.pollhub.exception.BadRequestException;
+import com.pablorodriguesb.pollhub.model.Option;
+import com.pablorodriguesb.pollhub.model.Poll;
+import com.pablorodriguesb.pollhub.model.User;
+import com.pablorodriguesb.pollhub.model.Vote;
+import com.pablorodriguesb.pollhub.repository.OptionRepository;
+import com.pablorodriguesb.pollhub.repository.PollRepository;
+import com.pablorodriguesb.pollhub.repository.UserRepository;
+import com.pablorodriguesb.pollhub.repository.VoteJdbcRepository;
+import com.pablorodriguesb.pollhub.repository.VoteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session.events.log=false",
+        "pollhub.votes.batch.max-entries=500",
+        "pollhub.votes.batch.insert-chunk=50"
+})
+@ActiveProfiles("test")
+@Import({VoteBatchService.class, VoteBatchWriter.class, VoteJdbcRepository.class,
+        VoteBatchServiceTest.Config.class})
+// cada bloco grava na propria transacao, como na aplicacao
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VoteBatchServiceTest {
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        SimpleMeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    private static final int VOTERS = 200;
+
+    @Autowired
+    private VoteBatchService voteBatchService;
+
+    @Autowired
+    private SimpleMeterRegistry meterRegistry;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private PollRepository pollRepository;
+
+    @Autowired
+    private OptionRepository optionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Poll poll;
+    private Poll otherPoll;
+    private List<User> voters;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        voteRepository.deleteAll();
+        pollRepository.deleteAll();
+        userRepository.deleteAll();
+
+        voters = new ArrayList<>();
+        for (int i = 0; i < VOTERS; i++) {
+            User voter = new User();
+            voter.setUsername("eleitor" + i);
+            voter.setEmail("eleitor" + i + "@example.com");
+            voter.setPassword("encodedPassword");
+            voter.setDataCadastro(LocalDateTime.now());
+            voter.setRole("ROLE_USER");
+            voters.add(voter);
+        }
+        voters = userRepository.saveAll(voters);
+
+        poll = pollRepository.save(poll("Enquete", voters.get(0)));
+        otherPoll = pollRepository.save(poll("Outra", voters.get(0)));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void submit_acceptsAllWithSetBasedLookups() {
+        // arrange
+        List<VoteBatchEntryDTO> entries = new ArrayList<>();
+        for (int i = 0; i < VOTERS; i++) {
+            Option option = poll.getOptions().get(i % 2);
+            entries.add(new VoteBatchEntryDTO(poll.getId(), option.getId(), voters.get(i).getId(), null));
+        }
+
+        // act
+        VoteBatchResponseDTO response = voteBatchService.submit(entries);
+
+        // assert
+        assertEquals(VOTERS, response.getAccepted());
+        assertEquals(0, response.getDuplicates());
+        assertEquals(0, response.getInvalid());
+        assertEquals(VOTERS, votesInPoll(poll.getId()));
+        // opcoes, usuarios e votos existentes: uma consulta cada, independente do tamanho do lote
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(VOTERS / 2,
+                optionRepository.findById(poll.getOptions().get(0).getId()).orElseThrow().getVoteCount());
+    }
+
+    @Test
+    void submit_marksDuplicatesInDatabaseAndInBatch() {
+        // arrange
+        Vote existing = new Vote();
+        existing.setPoll(poll);
+        existing.setOption(poll.getOptions().get(0));
+        existing.setUser(voters.get(0));
+        voteRepository.save(existing);
+
+        Long optionId = poll.getOptions().get(1).getId();
+        List<VoteBatchEntryDTO> entries = List.of(
+                new VoteBatchEntryDTO(poll.getId(), optionId, voters.get(0).getId(), null),
+                new VoteBatchEntryDTO(poll.getId(), optionId, voters.get(1).getId(), null),
+                new VoteBatchEntryDTO(poll.getId(), optionId, voters.get(1).getId(), null));
+
+        // act
+        VoteBatchResponseDTO response = voteBatchService.submit(entries);
+
+        // assert
+        assertEquals(List.of(VoteBatchStatus.DUPLICATE, VoteBatchStatus.ACCEPTED, VoteBatchStatus.DUPLICATE),
+                response.getResults().stream().map(VoteBatchResultDTO::getStatus).toList());
+        assertEquals(1, response.getAccepted());
+        assertEquals(2, response.getDuplicates());
+        assertEquals(2, votesInPoll(poll.getId()));
+        assertEquals(2.0, meterRegistry.get("pollhub.votes.rejected").tag("reason", "duplicate").counter().count());
+    }
+
+    @Test
+    void submit_marksInvalidEntries() {
+        // arrange
+        Long optionId = poll.getOptions().get(0).getId();
+        List<VoteBatchEntryDTO> entries = List.of(
+                // opcao de outra enquete
+                new VoteBatchEntryDTO(otherPoll.getId(), optionId, voters.get(0).getId(), null),
+                // usuario inexistente
+                new VoteBatchEntryDTO(poll.getId(), optionId, -1L, null),
+                // opcao inexistente
+                new VoteBatchEntryDTO(poll.getId(), -1L, voters.get(1).getId(), null),
+                // campo ausente
+                new VoteBatchEntryDTO(poll.getId(), null, voters.get(2).getId(), null),
+                new VoteBatchEntryDTO(poll.getId(), optionId, voters.get(3).getId(), null));
+
+        // act
+        VoteBatchResponseDTO response = voteBatchService.submit(entries);
+
+        // assert
+        assertEquals(4, response.getInvalid());
+        assertEquals(1, response.getAccepted());
+        assertEquals(VoteBatchStatus.ACCEPTED, response.getResults().get(4).getStatus());
+        assertEquals(1, votesInPoll(poll.getId()));
+        assertEquals(0, votesInPoll(otherPoll.getId()));
+    }
+
+    @Test
+    void submit_clampsVotedAtToSkewWindow() {
+        // arrange
+        Long optionId = poll.getOptions().get(0).getId();
+        LocalDateTime recent = LocalDateTime.now().minusMinutes(1).withNano(0);
+        List<VoteBatchEntryDTO> entries = List.of(
+                new VoteBatchEntryDTO(poll.getId(), optionId, voters.get(0).getId(), recent),
+                // antigo demais: o horario do servidor substitui o do cliente
+                new VoteBatchEntryDTO(poll.getId(), optionId, voters.get(1).getId(),
+                        LocalDateTime.now().minusDays(30)));
+
+        // act
+        LocalDateTime before = LocalDateTime.now();
+        voteBatchService.submit(entries);
+
+        // assert
+        assertEquals(recent, votedAt(voters.get(0).getId()));
+        assertFalse(votedAt(voters.get(1).getId()).isBefore(before.minusSeconds(1)));
+    }
+
+    @Test
+    void submit_rejectsOversizedBatch() {
+        // arrange
+        Long optionId = poll.getOptions().get(0).getId();
+        List<VoteBatchEntryDTO> entries = new ArrayList<>();
+        for (int i = 0; i < 501; i++) {
+            entries.add(new VoteBatchEntryDTO(poll.getId(), optionId, (long) i, null));
+        }
+
+        // act & assert
+        assertThrows(BadRequestException.class, () -> voteBatchService.submit(entries));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    private long votesInPoll(Long pollId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM votes WHERE poll_id = ?", Long.class, pollId);
+    }
+
+    private LocalDateTime votedAt(Long userId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT voted_at FROM votes WHERE user_id = ?", LocalDateTime.class, userId);
+    }
+
+    private Poll poll(String title, User creator) {
+        Poll poll = new Poll();
+        poll.setTitle(title);
+        poll.setCreatedAt(LocalDateTime.now());
+        poll.setCreatedBy(creator);
+        poll.setIsPublic(true);
+        List<Option> options = new ArrayList<>();
+        for (int j = 0; j < 2; j++) {
+            Option option = new Option();
+            option.setText(title + " " + j);
+            option.setPoll(poll);
+            option.setVoteCount(0);
+            options.add(option);
+        }
+        poll.setOptions(options);
+        return poll;
+    }
+}
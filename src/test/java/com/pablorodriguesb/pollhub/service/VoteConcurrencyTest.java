@@ -0,0 +1,146 @@
+package com.pablorodriguesb.pollhub.service;
+
+import com.pablorodriguesb.pollhub.exception.BadRequestException;
+import com.pablorodriguesb.pollhub.model.Option;
+import com.pablorodriguesb.pollhub.model.Poll;
+import com.pablorodriguesb.pollhub.model.User;
+import com.pablorodriguesb.pollhub.repository.OptionRepository;
+import com.pablorodriguesb.pollhub.repository.PollRepository;
+import com.pablorodriguesb.pollhub.repository.UserRepository;
+import com.pablorodriguesb.pollhub.repository.VoteJdbcRepository;
+import com.pablorodriguesb.pollhub.repository.VoteRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({VoteService.class, VoteJdbcRepository.class, VoteConcurrencyTest.Config.class})
+// cada voto roda na propria transacao, como na aplicacao
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VoteConcurrencyTest {
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private VoteService voteService;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private PollRepository pollRepository;
+
+    @Autowired
+    private OptionRepository optionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Poll poll;
+    private User voter;
+
+    @BeforeEach
+    void setUp() {
+        voteRepository.deleteAll();
+        pollRepository.deleteAll();
+        userRepository.deleteAll();
+
+        voter = new User();
+        voter.setUsername("eleitor");
+        voter.setEmail("eleitor@example.com");
+        voter.setPassword("encodedPassword");
+        voter.setDataCadastro(LocalDateTime.now());
+        voter.setRole("ROLE_USER");
+        voter = userRepository.save(voter);
+
+        poll = new Poll();
+        poll.setTitle("Enquete");
+        poll.setCreatedAt(LocalDateTime.now());
+        poll.setCreatedBy(voter);
+        poll.setIsPublic(true);
+        Option option = new Option();
+        option.setText("Opcao");
+        option.setPoll(poll);
+        option.setVoteCount(0);
+        poll.setOptions(new ArrayList<>(List.of(option)));
+        poll = pollRepository.save(poll);
+    }
+
+    @Test
+    void vote_secondVoteRejectedByUniqueConstraint() {
+        // arrange
+        Long optionId = poll.getOptions().get(0).getId();
+        voteService.vote(poll.getId(), optionId, voter);
+
+        // act & assert
+        assertThrows(BadRequestException.class,
+                () -> voteService.vote(poll.getId(), optionId, voter));
+        assertEquals(1, voteRepository.count());
+        assertEquals(1, optionRepository.findById(optionId).orElseThrow().getVoteCount());
+    }
+
+    @Test
+    void vote_concurrentVotes_exactlyOneAccepted() throws Exception {
+        // arrange
+        Long optionId = poll.getOptions().get(0).getId();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    voteService.vote(poll.getId(), optionId, voter);
+                    return true;
+                } catch (BadRequestException e) {
+                    return false;
+                }
+            }));
+        }
+
+        // act
+        start.countDown();
+        int accepted = 0;
+        for (Future<Boolean> result : results) {
+            // qualquer outra excecao (ex.: violacao nao mapeada) falha o teste aqui
+            if (result.get(30, TimeUnit.SECONDS)) {
+                accepted++;
+            }
+        }
+        executor.shutdown();
+
+        // assert
+        assertEquals(1, accepted);
+        assertEquals(1, voteRepository.count());
+        assertEquals(1, optionRepository.findById(optionId).orElseThrow().getVoteCount());
+    }
+}
@@ -0,0 +1,118 @@
+package com.pablorodriguesb.pollhub.service;
+
+import com.pablorodriguesb.pollhub.model.Option;
+import com.pablorodriguesb.pollhub.model.Poll;
+import com.pablorodriguesb.pollhub.model.User;
+import com.pablorodriguesb.pollhub.model.Vote;
+import com.pablorodriguesb.pollhub.repository.OptionRepository;
+import com.pablorodriguesb.pollhub.repository.PollRepository;
+import com.pablorodriguesb.pollhub.repository.UserRepository;
+import com.pablorodriguesb.pollhub.repository.VoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(VoteCountBackfill.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VoteCountBackfillTest {
+
+    @Autowired
+    private VoteCountBackfill voteCountBackfill;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private PollRepository pollRepository;
+
+    @Autowired
+    private OptionRepository optionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Poll poll;
+
+    @BeforeEach
+    void setUp() {
+        voteRepository.deleteAll();
+        pollRepository.deleteAll();
+        userRepository.deleteAll();
+
+        List<User> voters = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            User voter = new User();
+            voter.setUsername("eleitor" + i);
+            voter.setEmail("eleitor" + i + "@example.com");
+            voter.setPassword("encodedPassword");
+            voter.setDataCadastro(LocalDateTime.now());
+            voter.setRole("ROLE_USER");
+            voters.add(userRepository.save(voter));
+        }
+
+        poll = new Poll();
+        poll.setTitle("Enquete");
+        poll.setCreatedAt(LocalDateTime.now());
+        poll.setCreatedBy(voters.get(0));
+        poll.setIsPublic(true);
+        List<Option> options = new ArrayList<>();
+        for (int j = 0; j < 2; j++) {
+            Option option = new Option();
+            option.setText("Opcao " + j);
+            option.setPoll(poll);
+            options.add(option);
+        }
+        poll.setOptions(options);
+        poll = pollRepository.save(poll);
+
+        for (User voter : voters) {
+            Vote vote = new Vote();
+            vote.setUser(voter);
+            vote.setPoll(poll);
+            vote.setOption(poll.getOptions().get(0));
+            vote.setVotedAt(LocalDateTime.now());
+            voteRepository.save(vote);
+        }
+    }
+
+    @Test
+    void backfill_recountsOptionsCreatedBeforeTheColumn() {
+        // arrange: linhas antigas chegam com o padrao 0 da coluna nova
+        jdbcTemplate.update("UPDATE options SET vote_count = 0");
+
+        // act
+        voteCountBackfill.backfill();
+
+        // assert
+        assertEquals(3, optionRepository.findById(poll.getOptions().get(0).getId())
+                .orElseThrow().getVoteCount());
+        assertEquals(0, optionRepository.findById(poll.getOptions().get(1).getId())
+                .orElseThrow().getVoteCount());
+    }
+
+    @Test
+    void backfill_runsBeforeTheWebServerStarts() {
+        // assert: fases menores sobem antes; o conector abre na fase do WebServerStartStopLifecycle
+        assertTrue(voteCountBackfill.getPhase()
+                < WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1024);
+        assertTrue(voteCountBackfill.isRunning());
+    }
+}
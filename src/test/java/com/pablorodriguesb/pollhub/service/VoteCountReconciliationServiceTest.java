@@ -0,0 +1,160 @@
+package com.pablorodriguesb.pollhub.service;
+
+import com.pablorodriguesb.pollhub.dto.VoteCountDriftDTO;
+import com.pablorodriguesb.pollhub.repository.OptionRepository;
+import com.pablorodriguesb.pollhub.repository.OptionVoteCount;
+import com.pablorodriguesb.pollhub.repository.VoteCountDrift;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VoteCountReconciliationServiceTest {
+
+    @Mock
+    private OptionRepository optionRepository;
+
+    @Mock
+    private VoteTallyService voteTallyService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private VoteCountDrift drift;
+
+    @BeforeEach
+    void setUp() {
+        drift = new VoteCountDrift() {
+            @Override
+            public Long getOptionId() {
+                return 10L;
+            }
+
+            @Override
+            public Long getPollId() {
+                return 1L;
+            }
+
+            @Override
+            public int getStoredCount() {
+                return 3;
+            }
+
+            @Override
+            public long getActualCount() {
+                return 5;
+            }
+        };
+    }
+
+    @Test
+    void reconcile_reportsAndFixesDrift() {
+        // arrange
+        VoteCountReconciliationService service =
+                new VoteCountReconciliationService(optionRepository, voteTallyService, transactionManager, true);
+        when(optionRepository.findVoteCountDrift()).thenReturn(List.of(drift));
+
+        // act
+        List<VoteCountDriftDTO> report = service.reconcile();
+
+        // assert
+        assertEquals(1, report.size());
+        assertEquals(10L, report.get(0).getOptionId());
+        assertEquals(3, report.get(0).getStoredCount());
+        assertEquals(5, report.get(0).getActualCount());
+        verify(optionRepository).recountVotes(10L);
+        verify(voteTallyService).evict(1L);
+    }
+
+    @Test
+    void reconcile_evictsTallyOnlyAfterCommit() {
+        // arrange
+        VoteCountReconciliationService service =
+                new VoteCountReconciliationService(optionRepository, voteTallyService, transactionManager, true);
+        when(optionRepository.findVoteCountDrift()).thenReturn(List.of(drift, drift));
+
+        // act
+        service.reconcile();
+
+        // assert
+        InOrder inOrder = inOrder(optionRepository, transactionManager, voteTallyService);
+        inOrder.verify(optionRepository, times(2)).recountVotes(10L);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(voteTallyService).evict(1L);
+        verify(voteTallyService, times(1)).evict(1L);
+    }
+
+    @Test
+    void reconcile_reportOnly() {
+        // arrange
+        VoteCountReconciliationService service =
+                new VoteCountReconciliationService(optionRepository, voteTallyService, transactionManager, false);
+        when(optionRepository.findVoteCountDrift()).thenReturn(List.of(drift));
+
+        // act
+        List<VoteCountDriftDTO> report = service.reconcile();
+
+        // assert
+        assertEquals(1, report.size());
+        verify(optionRepository, never()).recountVotes(anyLong());
+        verify(voteTallyService, never()).evict(anyLong());
+    }
+
+    @Test
+    void reconcile_evictsTallyDivergentFromStoredCount() {
+        // arrange
+        VoteCountReconciliationService service =
+                new VoteCountReconciliationService(optionRepository, voteTallyService, transactionManager, true);
+        OptionVoteCount count = new OptionVoteCount() {
+            @Override
+            public Long getOptionId() {
+                return 10L;
+            }
+
+            @Override
+            public Long getPollId() {
+                return 1L;
+            }
+
+            @Override
+            public Long getVoteCount() {
+                return 7L;
+            }
+        };
+        when(voteTallyService.loadedPollIds()).thenReturn(List.of(1L, 2L));
+        when(optionRepository.findVoteCountsByPollIdIn(List.of(1L, 2L))).thenReturn(List.of(count));
+        when(voteTallyService.evictIfStale(1L, Map.of(10L, 7L))).thenReturn(true);
+
+        // act
+        int evicted = service.verifyTallies();
+
+        // assert
+        assertEquals(1, evicted);
+        verify(voteTallyService).evictIfStale(2L, Map.of());
+    }
+
+    @Test
+    void reconcile_noDrift() {
+        // arrange
+        VoteCountReconciliationService service =
+                new VoteCountReconciliationService(optionRepository, voteTallyService, transactionManager, true);
+        when(optionRepository.findVoteCountDrift()).thenReturn(List.of());
+
+        // act & assert
+        assertTrue(service.reconcile().isEmpty());
+        verify(optionRepository, never()).recountVotes(anyLong());
+    }
+}
@@ -0,0 +1,174 @@
+package com.pablorodriguesb.pollhub.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pablorodriguesb.pollhub.exception.BadRequestException;
+import com.pablorodriguesb.pollhub.exception.ResourceNotFoundException;
+import com.pablorodriguesb.pollhub.model.Option;
+import com.pablorodriguesb.pollhub.model.Poll;
+import com.pablorodriguesb.pollhub.model.User;
+import com.pablorodriguesb.pollhub.model.Vote;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(VoteExportService.class)
+class VoteExportServiceTest {
+
+    private static final int VOTERS = 3;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private VoteExportService voteExportService;
+
+    private Long pollId;
+
+    @BeforeEach
+    void setUp() {
+        User creator = user("creator");
+
+        Poll poll = new Poll();
+        poll.setTitle("Sim, ou \"não\"?");
+        poll.setCreatedAt(LocalDateTime.now());
+        poll.setCreatedBy(creator);
+        poll.setIsPublic(true);
+        List<Option> options = new ArrayList<>();
+        for (String text : List.of("Sim", "Não, obrigado")) {
+            Option option = new Option();
+            option.setText(text);
+            option.setPoll(poll);
+            options.add(option);
+        }
+        poll.setOptions(options);
+        entityManager.persist(poll);
+
+        for (int i = 0; i < VOTERS; i++) {
+            Vote vote = new Vote();
+            vote.setUser(user("voter" + i));
+            vote.setPoll(poll);
+            vote.setOption(options.get(i % 2));
+            entityManager.persist(vote);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        pollId = poll.getId();
+    }
+
+    @Test
+    void export_ndjson_oneObjectPerLine() throws Exception {
+        // arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // act
+        long rows = voteExportService.export(pollId, VoteExportService.Format.NDJSON, out);
+
+        // assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(VOTERS, rows);
+        assertEquals(VOTERS, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(pollId, first.get("pollId").asLong());
+        assertEquals("voter0", first.get("username").asText());
+        assertEquals("Sim", first.get("optionText").asText());
+        assertEquals("Não, obrigado", objectMapper.readTree(lines[1]).get("optionText").asText());
+    }
+
+    @Test
+    void export_csv_quotesFieldsWhenNeeded() throws Exception {
+        // arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // act
+        voteExportService.export(pollId, VoteExportService.Format.CSV, out);
+
+        // assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(VOTERS + 1, lines.length);
+        assertEquals("pollId,pollTitle,optionId,optionText,username,votedAt", lines[0]);
+        assertTrue(lines[1].contains(",\"Sim, ou \"\"não\"\"?\","));
+        assertTrue(lines[2].contains(",\"Não, obrigado\",voter1,"));
+    }
+
+    @Test
+    void export_csv_neutralizesFormulaCells() throws Exception {
+        // arrange
+        entityManager.persist(vote(user("=HYPERLINK(\"http://x\")"), 0));
+        entityManager.persist(vote(user("@SUM(A1)"), 1));
+        entityManager.flush();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // act
+        voteExportService.export(pollId, VoteExportService.Format.CSV, out);
+
+        // assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertTrue(lines[VOTERS + 1].contains(",\"'=HYPERLINK(\"\"http://x\"\")\","));
+        assertTrue(lines[VOTERS + 2].contains(",'@SUM(A1),"));
+    }
+
+    @Test
+    void checkCanExport_creatorOrAdminOnly() {
+        // act & assert
+        assertDoesNotThrow(() -> voteExportService.checkCanExport(pollId, "creator", false));
+        assertDoesNotThrow(() -> voteExportService.checkCanExport(pollId, "voter0", true));
+        assertThrows(AccessDeniedException.class,
+                () -> voteExportService.checkCanExport(pollId, "voter0", false));
+    }
+
+    @Test
+    void checkCanExport_pollNotFound() {
+        // act & assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> voteExportService.checkCanExport(pollId + 1000, "creator", true));
+    }
+
+    @Test
+    void parseFormat_invalid() {
+        // act & assert
+        assertEquals(VoteExportService.Format.CSV, VoteExportService.Format.parse("csv"));
+        assertThrows(BadRequestException.class, () -> VoteExportService.Format.parse("xml"));
+    }
+
+    private Vote vote(User voter, int optionIndex) {
+        Poll poll = entityManager.find(Poll.class, pollId);
+        Vote vote = new Vote();
+        vote.setUser(voter);
+        vote.setPoll(poll);
+        vote.setOption(poll.getOptions().get(optionIndex));
+        return vote;
+    }
+
+    private User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("encodedPassword");
+        user.setDataCadastro(LocalDateTime.now());
+        user.setRole("ROLE_USER");
+        entityManager.persist(user);
+        return user;
+    }
+}
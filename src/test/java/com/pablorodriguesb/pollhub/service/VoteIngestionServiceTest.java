@@ -0,0 +1,247 @@
+package com.pablorodriguesb.pollhub.service;
+
+import com.pablorodriguesb.pollhub.event.VoteCastEvent;
+import com.pablorodriguesb.pollhub.exception.BadRequestException;
+import com.pablorodriguesb.pollhub.exception.ResourceNotFoundException;
+import com.pablorodriguesb.pollhub.exception.TooManyRequestsException;
+import com.pablorodriguesb.pollhub.model.User;
+import com.pablorodriguesb.pollhub.model.Vote;
+import com.pablorodriguesb.pollhub.repository.OptionRepository;
+import com.pablorodriguesb.pollhub.repository.VoteJdbcRepository;
+import com.pablorodriguesb.pollhub.repository.VoteRepository;
+import com.pablorodriguesb.pollhub.repository.VoteRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VoteIngestionServiceTest {
+
+    @Mock
+    private VoteRepository voteRepository;
+
+    @Mock
+    private OptionRepository optionRepository;
+
+    @Mock
+    private VoteJdbcRepository voteJdbcRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private VoteIngestionService ingestionService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        // fila com capacidade 2 e sem thread de gravacao; o flush e chamado no teste
+        meterRegistry = new SimpleMeterRegistry();
+        ingestionService = new VoteIngestionService(voteRepository, optionRepository,
+                new VoteBatchWriter(voteJdbcRepository, transactionManager, eventPublisher), meterRegistry,
+                true, 2, 50, 10, 2, 1);
+
+        user = new User();
+        user.setId(7L);
+        user.setUsername("user1");
+    }
+
+    @Test
+    void submit_thenFlush_insertsBatchAndPublishesEvents() {
+        // arrange
+        when(optionRepository.existsByIdAndPollId(10L, 1L)).thenReturn(true);
+        when(voteRepository.existsByPollIdAndUserId(1L, 7L)).thenReturn(false);
+        when(voteJdbcRepository.insertAll(anyList())).thenReturn(1);
+        when(voteJdbcRepository.incrementVoteCounts(Map.of(10L, 1))).thenReturn(Map.of(10L, 1L));
+
+        // act
+        ingestionService.submit(1L, 10L, user);
+        int written = ingestionService.flush();
+
+        // assert
+        assertEquals(1, written);
+        ArgumentCaptor<List<VoteRow>> rows = ArgumentCaptor.captor();
+        verify(voteJdbcRepository).insertAll(rows.capture());
+        assertEquals(1, rows.getValue().size());
+        assertEquals(7L, rows.getValue().get(0).userId());
+        assertEquals(10L, rows.getValue().get(0).optionId());
+        verify(voteJdbcRepository).incrementVoteCounts(Map.of(10L, 1));
+        verify(eventPublisher).publishEvent(new VoteCastEvent(1L, 10L, 7L, 1));
+    }
+
+    @Test
+    void submit_pendingDuplicate() {
+        // arrange
+        when(optionRepository.existsByIdAndPollId(10L, 1L)).thenReturn(true);
+        when(voteRepository.existsByPollIdAndUserId(1L, 7L)).thenReturn(false);
+
+        // act
+        ingestionService.submit(1L, 10L, user);
+
+        // assert
+        assertThrows(BadRequestException.class, () -> ingestionService.submit(1L, 10L, user));
+        assertEquals(1.0, duplicateCount());
+    }
+
+    @Test
+    void submit_alreadyVotedInDatabase() {
+        // arrange
+        when(optionRepository.existsByIdAndPollId(10L, 1L)).thenReturn(true);
+        when(voteRepository.existsByPollIdAndUserId(1L, 7L)).thenReturn(true);
+
+        // act & assert
+        assertThrows(BadRequestException.class, () -> ingestionService.submit(1L, 10L, user));
+        assertEquals(0, ingestionService.flush());
+        assertEquals(1.0, duplicateCount());
+    }
+
+    @Test
+    void submit_optionNotInPoll() {
+        // arrange
+        when(optionRepository.existsByIdAndPollId(99L, 1L)).thenReturn(false);
+
+        // act & assert
+        assertThrows(ResourceNotFoundException.class, () -> ingestionService.submit(1L, 99L, user));
+        verifyNoInteractions(voteRepository);
+    }
+
+    @Test
+    void submit_queueFull() {
+        // arrange
+        when(optionRepository.existsByIdAndPollId(anyLong(), anyLong())).thenReturn(true);
+        when(voteRepository.existsByPollIdAndUserId(anyLong(), anyLong())).thenReturn(false);
+        ingestionService.submit(1L, 10L, voter(1L));
+        ingestionService.submit(1L, 10L, voter(2L));
+
+        // act & assert
+        assertThrows(TooManyRequestsException.class,
+                () -> ingestionService.submit(1L, 10L, voter(3L)));
+    }
+
+    @Test
+    void flush_duplicateInBatch_fallsBackToSingleRows() {
+        // arrange
+        when(optionRepository.existsByIdAndPollId(anyLong(), anyLong())).thenReturn(true);
+        when(voteRepository.existsByPollIdAndUserId(anyLong(), anyLong())).thenReturn(false);
+        ingestionService.submit(1L, 10L, voter(1L));
+        ingestionService.submit(1L, 10L, voter(2L));
+
+        when(voteJdbcRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<VoteRow> rows = invocation.getArgument(0);
+            if (rows.size() > 1 || rows.get(0).userId().equals(2L)) {
+                throw new DuplicateKeyException(Vote.UK_USER_POLL);
+            }
+            return 1;
+        });
+        when(voteJdbcRepository.incrementVoteCounts(Map.of(10L, 1))).thenReturn(Map.of(10L, 1L));
+
+        // act
+        int written = ingestionService.flush();
+
+        // assert
+        assertEquals(1, written);
+        verify(voteJdbcRepository, times(3)).insertAll(anyList());
+        assertEquals(1.0, duplicateCount());
+        verify(eventPublisher, times(1)).publishEvent(any(VoteCastEvent.class));
+    }
+
+    @Test
+    void flush_otherConstraintViolation_rejectedButNotCountedAsDuplicate() {
+        // arrange
+        when(optionRepository.existsByIdAndPollId(anyLong(), anyLong())).thenReturn(true);
+        when(voteRepository.existsByPollIdAndUserId(anyLong(), anyLong())).thenReturn(false);
+        ingestionService.submit(1L, 10L, voter(1L));
+        ingestionService.submit(1L, 10L, voter(2L));
+
+        when(voteJdbcRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<VoteRow> rows = invocation.getArgument(0);
+            if (rows.size() > 1 || rows.get(0).userId().equals(2L)) {
+                throw new DataIntegrityViolationException("fk_votes_user");
+            }
+            return 1;
+        });
+        when(voteJdbcRepository.incrementVoteCounts(Map.of(10L, 1))).thenReturn(Map.of(10L, 1L));
+
+        // act
+        int written = ingestionService.flush();
+
+        // assert
+        assertEquals(1, written);
+        assertEquals(0.0, duplicateCount());
+        assertEquals(1.0, meterRegistry.get("pollhub.votes.rejected")
+                .tag("reason", "constraint").counter().count());
+        assertEquals(0.0, meterRegistry.get("pollhub.votes.write-behind.dropped").counter().count());
+    }
+
+    @Test
+    void flush_transientFailure_retriesBatch() {
+        // arrange
+        when(optionRepository.existsByIdAndPollId(10L, 1L)).thenReturn(true);
+        when(voteRepository.existsByPollIdAndUserId(1L, 7L)).thenReturn(false);
+        ingestionService.submit(1L, 10L, user);
+        when(voteJdbcRepository.insertAll(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("conexão perdida"))
+                .thenReturn(1);
+        when(voteJdbcRepository.incrementVoteCounts(Map.of(10L, 1))).thenReturn(Map.of(10L, 1L));
+
+        // act
+        int written = ingestionService.flush();
+
+        // assert
+        assertEquals(1, written);
+        verify(voteJdbcRepository, times(2)).insertAll(anyList());
+        assertEquals(0.0, meterRegistry.get("pollhub.votes.write-behind.dropped").counter().count());
+    }
+
+    @Test
+    void flush_persistentFailure_dropsAndCountsVotes() {
+        // arrange
+        when(optionRepository.existsByIdAndPollId(anyLong(), anyLong())).thenReturn(true);
+        when(voteRepository.existsByPollIdAndUserId(anyLong(), anyLong())).thenReturn(false);
+        ingestionService.submit(1L, 10L, voter(1L));
+        ingestionService.submit(1L, 10L, voter(2L));
+        when(voteJdbcRepository.insertAll(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("banco fora do ar"));
+
+        // act
+        int written = ingestionService.flush();
+
+        // assert: tentativa inicial mais duas repeticoes
+        assertEquals(0, written);
+        verify(voteJdbcRepository, times(3)).insertAll(anyList());
+        verifyNoInteractions(eventPublisher);
+        assertEquals(2.0, meterRegistry.get("pollhub.votes.write-behind.dropped").counter().count());
+    }
+
+    private double duplicateCount() {
+        return meterRegistry.get("pollhub.votes.rejected").tag("reason", "duplicate").counter().count();
+    }
+
+    private User voter(Long id) {
+        User voter = new User();
+        voter.setId(id);
+        return voter;
+    }
+}
@@ -1,27 +1,43 @@
 package com.pablorodriguesb.pollhub.service;
 
+import com.pablorodriguesb.pollhub.event.VoteCastEvent;
+import com.pablorodriguesb.pollhub.exception.BadRequestException;
+import com.pablorodriguesb.pollhub.exception.ResourceNotFoundException;
 import com.pablorodriguesb.pollhub.model.Option;
 import com.pablorodriguesb.pollhub.model.Poll;
 import com.pablorodriguesb.pollhub.model.User;
 import com.pablorodriguesb.pollhub.model.Vote;
 import com.pablorodriguesb.pollhub.repository.OptionRepository;
 import com.pablorodriguesb.pollhub.repository.PollRepository;
+import com.pablorodriguesb.pollhub.repository.VoteJdbcRepository;
 import com.pablorodriguesb.pollhub.repository.VoteRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +52,15 @@ class VoteServiceTest {
     @Mock
     private PollRepository pollRepository;
 
+    @Mock
+    private VoteJdbcRepository voteJdbcRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private VoteService voteService;
 
@@ -46,6 +71,7 @@ class VoteServiceTest {
     @BeforeEach
     void setUp() {
         user = new User();
+        user.setId(5L);
         user.setUsername("testuser");
 
         poll = new Poll();
@@ -58,11 +84,12 @@ class VoteServiceTest {
     @Test
     void vote() {
         // arrange
-        when(pollRepository.findById(1L)).thenReturn(Optional.of(poll));
-        when(voteRepository.existsByPollAndUser(poll, user)).thenReturn(false);
-        when(optionRepository.findById(1L)).thenReturn(Optional.of(option));
-        when(voteRepository.save(any(Vote.class))).thenAnswer(invocation ->
+        when(optionRepository.existsByIdAndPollId(1L, 1L)).thenReturn(true);
+        when(pollRepository.getReferenceById(1L)).thenReturn(poll);
+        when(optionRepository.getReferenceById(1L)).thenReturn(option);
+        when(voteRepository.saveAndFlush(any(Vote.class))).thenAnswer(invocation ->
                 invocation.getArgument(0));
+        when(voteJdbcRepository.incrementVoteCount(1L)).thenReturn(1L);
 
         // act
         Vote vote = voteService.vote(1L, 1L, user);
@@ -74,10 +101,75 @@ class VoteServiceTest {
         assertEquals(option, vote.getOption());
         assertNotNull(vote.getVotedAt());
 
-        verify(pollRepository).findById(1L);
-        verify(voteRepository).existsByPollAndUser(poll, user);
-        verify(optionRepository).findById(1L);
-        verify(voteRepository).save(any(Vote.class));
+        verify(pollRepository, never()).findById(any());
+        verify(optionRepository, never()).findById(any());
+        verify(voteRepository, never()).existsByPollIdAndUserId(any(), any());
+        verify(voteRepository).saveAndFlush(any(Vote.class));
+        verify(voteJdbcRepository).incrementVoteCount(1L);
+        verify(eventPublisher).publishEvent(new VoteCastEvent(1L, 1L, 5L, 1));
+    }
+
+    @Test
+    void vote_alreadyVoted() {
+        // arrange
+        when(optionRepository.existsByIdAndPollId(1L, 1L)).thenReturn(true);
+        when(voteRepository.saveAndFlush(any(Vote.class)))
+                .thenThrow(new DuplicateKeyException(Vote.UK_USER_POLL));
+
+        // act & assert
+        assertThrows(BadRequestException.class, () -> voteService.vote(1L, 1L, user));
+        verify(voteJdbcRepository, never()).incrementVoteCount(anyLong());
+        verifyNoInteractions(eventPublisher);
+        assertEquals(1.0, meterRegistry.get("pollhub.votes.rejected")
+                .tag("reason", "duplicate").counter().count());
+    }
+
+    @Test
+    void vote_otherIntegrityViolation_propagates() {
+        // arrange
+        when(optionRepository.existsByIdAndPollId(1L, 1L)).thenReturn(true);
+        when(voteRepository.saveAndFlush(any(Vote.class)))
+                .thenThrow(new DataIntegrityViolationException("fk_votes_option"));
+
+        // act & assert
+        assertThrows(DataIntegrityViolationException.class, () -> voteService.vote(1L, 1L, user));
+        verify(voteJdbcRepository, never()).incrementVoteCount(anyLong());
+    }
+
+    @Test
+    void vote_otherUniqueViolation_propagates() {
+        // arrange
+        when(optionRepository.existsByIdAndPollId(1L, 1L)).thenReturn(true);
+        when(voteRepository.saveAndFlush(any(Vote.class))).thenThrow(new DataIntegrityViolationException(
+                "duplicado", new ConstraintViolationException("duplicado", new SQLException(), "uk_outra")));
+
+        // act & assert
+        assertThrows(DataIntegrityViolationException.class, () -> voteService.vote(1L, 1L, user));
+        verify(voteJdbcRepository, never()).incrementVoteCount(anyLong());
+        assertEquals(0.0, meterRegistry.get("pollhub.votes.rejected")
+                .tag("reason", "duplicate").counter().count());
+    }
+
+    @Test
+    void vote_optionFromAnotherPoll() {
+        // arrange
+        when(optionRepository.existsByIdAndPollId(1L, 2L)).thenReturn(false);
+
+        // act & assert
+        assertThrows(ResourceNotFoundException.class, () -> voteService.vote(2L, 1L, user));
+        verify(voteRepository, never()).save(any());
+        verify(voteJdbcRepository, never()).incrementVoteCount(anyLong());
+    }
+
+    @Test
+    void vote_pollNotFound() {
+        // arrange
+        when(optionRepository.existsByIdAndPollId(1L, 99L)).thenReturn(false);
+
+        // act & assert
+        assertThrows(ResourceNotFoundException.class, () -> voteService.vote(99L, 1L, user));
+        verifyNoInteractions(pollRepository);
+        verify(voteRepository, never()).save(any());
     }
 
     @Test
@@ -0,0 +1,258 @@
+package com.pablorodriguesb.pollhub.service;
+
+import com.pablorodriguesb.pollhub.dto.PollResultDTO;
+import com.pablorodriguesb.pollhub.event.VoteCastEvent;
+import com.pablorodriguesb.pollhub.exception.ResourceNotFoundException;
+import com.pablorodriguesb.pollhub.model.Option;
+import com.pablorodriguesb.pollhub.model.Poll;
+import com.pablorodriguesb.pollhub.model.User;
+import com.pablorodriguesb.pollhub.repository.PollRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VoteTallyServiceTest {
+
+    @Mock
+    private PollRepository pollRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private VoteTallyService voteTallyService;
+
+    private Poll poll;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        voteTallyService = new VoteTallyService(pollRepository, meterRegistry, 100);
+
+        poll = new Poll();
+        poll.setId(1L);
+        poll.setTitle("Enquete Teste");
+        poll.setDescription("descricao");
+
+        Option option1 = new Option();
+        option1.setId(10L);
+        option1.setText("Opcao 1");
+        option1.setVoteCount(4);
+
+        Option option2 = new Option();
+        option2.setId(20L);
+        option2.setText("Opcao 2");
+
+        poll.setOptions(List.of(option1, option2));
+    }
+
+    @Test
+    void getResults_loadsOnceAndServesFromMemory() {
+        // arrange
+        when(pollRepository.findByIdWithOptions(1L)).thenReturn(Optional.of(poll));
+
+        // act
+        voteTallyService.getResults(1L);
+        PollResultDTO result = voteTallyService.getResults(1L);
+
+        // assert
+        assertEquals(1L, result.getPollId());
+        assertEquals("Enquete Teste", result.getTitle());
+        assertEquals(2, result.getResults().size());
+        assertEquals(4, result.getResults().get(0).getVotes());
+        assertEquals(0, result.getResults().get(1).getVotes());
+        verify(pollRepository, times(1)).findByIdWithOptions(1L);
+        assertEquals(1.0, cacheGets("miss"));
+        assertEquals(1.0, cacheGets("hit"));
+    }
+
+    @Test
+    void onVoteCast_incrementsLoadedTally() {
+        // arrange
+        when(pollRepository.findByIdWithOptions(1L)).thenReturn(Optional.of(poll));
+        voteTallyService.getResults(1L);
+
+        // act
+        voteTallyService.onVoteCast(new VoteCastEvent(1L, 20L, 5L, 1));
+        voteTallyService.onVoteCast(new VoteCastEvent(1L, 20L, 6L, 2));
+
+        // assert
+        PollResultDTO result = voteTallyService.getResults(1L);
+        assertEquals(2, result.getResults().get(1).getVotes());
+        verify(pollRepository, times(1)).findByIdWithOptions(1L);
+    }
+
+    @Test
+    void onVoteCast_ignoresPollNotLoaded() {
+        // act
+        voteTallyService.onVoteCast(new VoteCastEvent(1L, 10L, 5L, 5));
+
+        // assert
+        verifyNoInteractions(pollRepository);
+    }
+
+    @Test
+    void evict_forcesReload() {
+        // arrange
+        when(pollRepository.findByIdWithOptions(1L)).thenReturn(Optional.of(poll));
+        voteTallyService.getResults(1L);
+
+        // act
+        voteTallyService.evict(1L);
+        voteTallyService.getResults(1L);
+
+        // assert
+        verify(pollRepository, times(2)).findByIdWithOptions(1L);
+    }
+
+    @Test
+    void resultsETag_stableUntilVoteCast() {
+        // arrange
+        when(pollRepository.findByIdWithOptions(1L)).thenReturn(Optional.of(poll));
+        String first = voteTallyService.resultsETag(1L);
+
+        // act
+        String unchanged = voteTallyService.resultsETag(1L);
+        voteTallyService.onVoteCast(new VoteCastEvent(1L, 10L, 5L, 5));
+        String afterVote = voteTallyService.resultsETag(1L);
+
+        // assert
+        assertTrue(first.startsWith("\"") && first.endsWith("\""));
+        assertEquals(first, unchanged);
+        assertNotEquals(first, afterVote);
+        verify(pollRepository, times(1)).findByIdWithOptions(1L);
+    }
+
+    @Test
+    void resultsETag_changesAfterReload() {
+        // arrange
+        when(pollRepository.findByIdWithOptions(1L)).thenReturn(Optional.of(poll));
+        String before = voteTallyService.resultsETag(1L);
+
+        // act: a recarga zera a versao, mas a tag nao pode se repetir
+        voteTallyService.evict(1L);
+        String after = voteTallyService.resultsETag(1L);
+
+        // assert
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void getVersionedResults_versionGrowsWithVotesAndReloads() {
+        // arrange
+        when(pollRepository.findByIdWithOptions(1L)).thenReturn(Optional.of(poll));
+        ResultsVersion loaded = voteTallyService.getVersionedResults(1L).version();
+
+        // act
+        voteTallyService.onVoteCast(new VoteCastEvent(1L, 20L, 5L, 1));
+        VoteTallyService.VersionedResults afterVote = voteTallyService.getVersionedResults(1L);
+        voteTallyService.evict(1L);
+        ResultsVersion reloaded = voteTallyService.getVersionedResults(1L).version();
+
+        // assert
+        assertTrue(afterVote.version().isNewerThan(loaded));
+        assertEquals(1, afterVote.results().getResults().get(1).getVotes());
+        assertTrue(reloaded.isNewerThan(afterVote.version()));
+        assertFalse(loaded.isNewerThan(loaded));
+    }
+
+    @Test
+    void resultsETag_ignoresUnknownOption() {
+        // arrange
+        when(pollRepository.findByIdWithOptions(1L)).thenReturn(Optional.of(poll));
+        String before = voteTallyService.resultsETag(1L);
+
+        // act
+        voteTallyService.onVoteCast(new VoteCastEvent(1L, 99L, 5L, 1));
+
+        // assert
+        assertEquals(before, voteTallyService.resultsETag(1L));
+    }
+
+    @Test
+    void onVoteCast_alreadyCountedByLoad_isIgnored() {
+        // arrange: a carga ja leu vote_count = 4 na opcao 10
+        when(pollRepository.findByIdWithOptions(1L)).thenReturn(Optional.of(poll));
+        voteTallyService.getResults(1L);
+
+        // act: evento atrasado de um voto que a consulta ja enxergou
+        voteTallyService.onVoteCast(new VoteCastEvent(1L, 10L, 5L, 4));
+
+        // assert
+        assertEquals(4, voteTallyService.getResults(1L).getResults().get(0).getVotes());
+    }
+
+    @Test
+    void onVoteCast_duringLoad_isAppliedOnce() {
+        // arrange: dois votos confirmados enquanto a consulta roda; a consulta
+        // enxerga o primeiro (vote_count = 5) e nao o segundo
+        when(pollRepository.findByIdWithOptions(1L)).thenAnswer(invocation -> {
+            voteTallyService.onVoteCast(new VoteCastEvent(1L, 10L, 5L, 5));
+            voteTallyService.onVoteCast(new VoteCastEvent(1L, 10L, 6L, 6));
+            poll.getOptions().get(0).setVoteCount(5);
+            return Optional.of(poll);
+        });
+
+        // act
+        PollResultDTO result = voteTallyService.getResults(1L);
+
+        // assert
+        assertEquals(6, result.getResults().get(0).getVotes());
+    }
+
+    @Test
+    void evictIfStale_reloadsDivergentTally() {
+        // arrange
+        when(pollRepository.findByIdWithOptions(1L)).thenReturn(Optional.of(poll));
+        voteTallyService.getResults(1L);
+
+        // act
+        boolean matching = voteTallyService.evictIfStale(1L, Map.of(10L, 4L, 20L, 0L));
+        boolean divergent = voteTallyService.evictIfStale(1L, Map.of(10L, 5L, 20L, 0L));
+
+        // assert
+        assertFalse(matching);
+        assertTrue(divergent);
+        assertTrue(voteTallyService.loadedPollIds().isEmpty());
+    }
+
+    @Test
+    void canView_privatePollOnlyCreator() {
+        // arrange
+        User creator = new User();
+        creator.setUsername("criador");
+        poll.setCreatedBy(creator);
+        poll.setIsPublic(false);
+        when(pollRepository.findByIdWithOptions(1L)).thenReturn(Optional.of(poll));
+
+        // act & assert
+        assertTrue(voteTallyService.canView(1L, "criador"));
+        assertFalse(voteTallyService.canView(1L, "outro"));
+        assertFalse(voteTallyService.canView(1L, null));
+        verify(pollRepository, times(1)).findByIdWithOptions(1L);
+    }
+
+    @Test
+    void getResults_pollNotFound() {
+        // arrange
+        when(pollRepository.findByIdWithOptions(99L)).thenReturn(Optional.empty());
+
+        // act & assert
+        assertThrows(ResourceNotFoundException.class, () -> voteTallyService.getResults(99L));
+        assertTrue(voteTallyService.loadedPollIds().isEmpty());
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tags("cache", "poll-results", "result", result)
+                .functionCounter().count();
+    }
+}